@@ -0,0 +1,19 @@
+package com.example.flight_service.benchmark;
+
+import com.example.flight_service.FlightServiceApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+// Application context for JMH state objects: the test configuration (H2, no Eureka) without a web server
+final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(FlightServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .run();
+    }
+}
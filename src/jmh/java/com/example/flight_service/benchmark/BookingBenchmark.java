@@ -0,0 +1,61 @@
+package com.example.flight_service.benchmark;
+
+import com.example.flight_service.entity.Flight;
+import com.example.flight_service.entity.FlightDetails;
+import com.example.flight_service.service.FlightService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+// Book-then-cancel round trip through FlightService, so the flight never sells out mid-measurement
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingBenchmark {
+
+    @Param({"50", "180", "600"})
+    private int totalSeats;
+
+    private ConfigurableApplicationContext context;
+    private FlightService flightService;
+    private Integer flightId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        flightService = context.getBean(FlightService.class);
+        Flight flight = flightService.addFlight(Flight.builder()
+                .airline("BenchAir")
+                .departure("DEL")
+                .destination("BOM")
+                .departureTime(LocalDateTime.now().plusDays(30))
+                .arrivalTime(LocalDateTime.now().plusDays(30).plusHours(2))
+                .price(4500)
+                .totalSeats(totalSeats)
+                .seats(new ArrayList<>())
+                .build());
+        flightId = flight.getId().intValue();
+        // Half full, so the next free seat is not simply the first one
+        for (int i = 0; i < totalSeats / 2; i++) {
+            flightService.bookSeat(flightId);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public FlightDetails bookAndCancelSeat() {
+        FlightDetails details = flightService.bookSeat(flightId);
+        flightService.cancelSeat(flightId, details.getSeatNumber());
+        return details;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.flight_service.benchmark;
+
+import com.example.flight_service.dto.FlightDTO;
+import com.example.flight_service.service.FlightService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Full catalog listing (GET /flights/all) as FlightDTO projections
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FlightListingBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int catalogSize;
+
+    private ConfigurableApplicationContext context;
+    private FlightService flightService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        flightService = context.getBean(FlightService.class);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        LocalDateTime base = LocalDateTime.now().plusDays(1);
+        List<Object[]> rows = new ArrayList<>(1_000);
+        for (int i = 0; i < catalogSize; i++) {
+            rows.add(new Object[]{"Air" + (i % 20), "DEL", "BOM",
+                    Timestamp.valueOf(base.plusMinutes(i)), Timestamp.valueOf(base.plusMinutes(i + 120)),
+                    i % 180, 2000.0 + i % 500, 180});
+            if (rows.size() == 1_000 || i == catalogSize - 1) {
+                jdbcTemplate.batchUpdate("insert into flights (id, airline, departure, destination, "
+                        + "departure_time, arrival_time, available_seats, price, total_seats, version) "
+                        + "values (next value for flights_seq, ?, ?, ?, ?, ?, ?, ?, ?, 0)", rows);
+                rows.clear();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<FlightDTO> getAllFlights() {
+        return flightService.getAllFlights();
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.flight_service.benchmark;
+
+import com.example.flight_service.service.JWTService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+// Token work JwtFilter does per request: a full parse per lookup versus JWTService's verified-claims cache
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "TXlTdXBlclNlY3JldEtleUZvckpXVE15U3VwZXJTZWNyZXRLZXlGb3JKV1Q=";
+
+    private JWTService jwtService;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        token = Jwts.builder()
+                .subject("bench@example.com")
+                .claim("role", "PASSENGER")
+                .expiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)))
+                .compact();
+        jwtService = new JWTService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", SECRET);
+        ReflectionTestUtils.invokeMethod(jwtService, "init");
+    }
+
+    // What the filter used to do: extractUsername, extractRole and validateToken (two lookups), each decoding the
+    // key and verifying the signature
+    @Benchmark
+    public void uncachedFilterPath(Blackhole blackhole) {
+        for (int i = 0; i < 4; i++) {
+            blackhole.consume(parse(token));
+        }
+    }
+
+    // One verify per request, answered by a digest lookup in the verified-claims cache
+    @Benchmark
+    public Claims cachedFilterPath() {
+        return jwtService.verify(token);
+    }
+
+    private static Claims parse(String token) {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.flight_service.benchmark;
+
+import com.example.flight_service.entity.Flight;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Seat state built for a new flight: the packed seat map set by Flight.prePersist
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SeatGenerationBenchmark {
+
+    @Param({"50", "180", "600"})
+    private int totalSeats;
+
+    @Benchmark
+    public String createSeatMap() {
+        Flight flight = Flight.builder()
+                .totalSeats(totalSeats)
+                .build();
+        flight.prePersist();
+        return flight.getSeatMap();
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.flight_service.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    // Cache of GET /flights/getDetails responses, evicted by FlightService on update and delete
+    public static final String FLIGHT_DETAILS = "flightDetails";
+
+    // Bounded local caches with TTL; statistics feed the hit/miss/eviction metrics. Evictions and puts made
+    // inside a transaction are deferred until it commits, so a concurrent reader cannot re-cache the row
+    // that an update or delete is about to replace.
+    @Bean
+    public CacheManager cacheManager(@Value("${flight.cache.details.max-size:10000}") long maxSize,
+                                     @Value("${flight.cache.details.ttl:10m}") Duration ttl) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(FLIGHT_DETAILS);
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats());
+        cacheManager.setAllowNullValues(false);
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.flight_service.config;
+
+import com.example.flight_service.filter.QueryCountFilter;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    // Count every SQL statement Hibernate prepares towards the current request
+    @Bean
+    public HibernatePropertiesCustomizer queryCountingCustomizer() {
+        StatementInspector inspector = sql -> {
+            QueryCountFilter.countQuery();
+            return sql;
+        };
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.flight_service.config;
+
+import com.example.flight_service.service.FileFlightEventSink;
+import com.example.flight_service.service.FlightEventSink;
+import com.example.flight_service.service.InMemoryFlightEventSink;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+// Where the outbox relay sends flight events: "memory" keeps the latest ones in process, "file" appends NDJSON.
+// A broker-backed sink is one more FlightEventSink implementation selected here.
+@Configuration
+public class OutboxConfig {
+
+    @Bean
+    public FlightEventSink flightEventSink(@Value("${flight.outbox.sink:memory}") String sink,
+                                           @Value("${flight.outbox.file:flight-events.ndjson}") String file,
+                                           @Value("${flight.outbox.memory-capacity:10000}") int capacity,
+                                           ObjectMapper objectMapper) {
+        return switch (sink) {
+            case "memory" -> new InMemoryFlightEventSink(capacity);
+            case "file" -> new FileFlightEventSink(Path.of(file), objectMapper);
+            default -> throw new IllegalStateException("Unknown flight.outbox.sink: " + sink);
+        };
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.flight_service.config;
+
+import com.example.flight_service.service.DependencyGuard;
+import feign.FeignException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.time.Duration;
+import java.util.function.Predicate;
+
+// One DependencyGuard per downstream dependency and per request compartment, each tunable under
+// flight.resilience.<name>.*: max-concurrent, max-wait, window, failure-rate (percent) and open-for.
+@Configuration
+public class ResilienceConfig {
+
+    public static final String DATABASE = "database";
+    public static final String USER_SERVICE = "user-service";
+    public static final String BOOKING_REQUESTS = "booking-requests";
+    public static final String QUERY_REQUESTS = "query-requests";
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // MySQL: the Hikari pool already bounds concurrency (its pending-connection metrics show the queue), so
+    // only the breaker is added. Lock conflicts are normal booking traffic, not an unhealthy database.
+    @Bean
+    public DependencyGuard databaseGuard() {
+        return guard(DATABASE, 0, e -> (e instanceof TransientDataAccessException
+                && !(e instanceof ConcurrencyFailureException))
+                || e instanceof DataAccessResourceFailureException
+                || e instanceof RecoverableDataAccessException
+                || e instanceof CannotCreateTransactionException);
+    }
+
+    // USER-SERVICE: server errors, timeouts and refused connections count; 4xx answers are the caller's fault
+    @Bean
+    public DependencyGuard userServiceGuard() {
+        return guard(USER_SERVICE, 20, e -> e instanceof FeignException feign
+                && (feign.status() < 0 || feign.status() >= 500));
+    }
+
+    // Separate request compartments so a flood of searches cannot take the threads bookings need
+    @Bean
+    public DependencyGuard bookingRequestGuard() {
+        return guard(BOOKING_REQUESTS, 100, e -> false);
+    }
+
+    @Bean
+    public DependencyGuard queryRequestGuard() {
+        return guard(QUERY_REQUESTS, 100, e -> false);
+    }
+
+    private DependencyGuard guard(String name, int maxConcurrent, Predicate<Throwable> isFailure) {
+        String prefix = "flight.resilience." + name + ".";
+        return new DependencyGuard(name,
+                environment.getProperty(prefix + "max-concurrent", Integer.class, maxConcurrent),
+                environment.getProperty(prefix + "max-wait", Duration.class, Duration.ofMillis(50)),
+                isFailure,
+                environment.getProperty(prefix + "window", Integer.class, 20),
+                environment.getProperty(prefix + "failure-rate", Integer.class, 50),
+                environment.getProperty(prefix + "open-for", Duration.class, Duration.ofSeconds(10)),
+                meterRegistry);
+    }
+}
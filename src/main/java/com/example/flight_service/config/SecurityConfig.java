@@ -1,19 +1,27 @@
 package com.example.flight_service.config;
 
 import com.example.flight_service.filter.JwtFilter;
+import jakarta.servlet.DispatcherType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authorization.AuthorityAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.AuthorizationManagers;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.security.web.firewall.HttpFirewall;
 import org.springframework.security.web.firewall.StrictHttpFirewall;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -29,6 +37,10 @@ public class SecurityConfig {
     @Autowired
     private JwtFilter jwtFilter;
 
+    // Networks the Prometheus scraper connects from, as comma-separated CIDR blocks
+    @Value("${flight.metrics.scrape-networks:127.0.0.1/32,::1/128}")
+    private List<String> scrapeNetworks;
+
     // Configure security filter chain
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -37,7 +49,11 @@ public class SecurityConfig {
                     .cors(cors -> cors.configurationSource(corsConfigurationSource())) // Enable CORS with custom config
                     .csrf(csrf -> csrf.disable()) // Disable CSRF for stateless APIs
                     .authorizeHttpRequests(auth -> auth
-                            .requestMatchers("/flights/add", "/flights/update/**", "/flights/delete/**").hasRole("ADMIN") // Admin-only endpoints
+                            .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll() // Streamed responses complete on an async dispatch already authorized on the request
+                            .requestMatchers("/actuator/health/**").permitAll() // Probes
+                            .requestMatchers("/actuator/prometheus").access(scraperOrAdmin()) // Metrics include live per-flight inventory
+                            .requestMatchers("/actuator/**").hasRole("ADMIN") // Remaining actuator endpoints
+                            .requestMatchers("/flights/add", "/flights/import", "/flights/export", "/flights/update/**", "/flights/delete/**").hasRole("ADMIN") // Admin-only endpoints
                             .requestMatchers("/flights/**", "/check-availability", "/book-seats", "/cancel-seat").hasRole("PASSENGER") // Passenger-only endpoints
                             .anyRequest().authenticated() // All other requests must be authenticated
                     )
@@ -53,6 +69,14 @@ public class SecurityConfig {
         }
     }
 
+    // Allow the scrape from the scraper's networks without a token, and from anywhere with an admin token
+    private AuthorizationManager<RequestAuthorizationContext> scraperOrAdmin() {
+        List<IpAddressMatcher> networks = scrapeNetworks.stream().map(String::trim).map(IpAddressMatcher::new).toList();
+        AuthorizationManager<RequestAuthorizationContext> fromScraper = (authentication, context) ->
+                new AuthorizationDecision(networks.stream().anyMatch(network -> network.matches(context.getRequest())));
+        return AuthorizationManagers.anyOf(fromScraper, AuthorityAuthorizationManager.hasRole("ADMIN"));
+    }
+
     // Configure allowed CORS settings
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
@@ -60,7 +84,7 @@ public class SecurityConfig {
         try {
             configuration.setAllowedOrigins(List.of("http://localhost:4201")); // Allow frontend origin
             configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE")); // Allow HTTP methods
-            configuration.setAllowedHeaders(List.of("Authorization", "Content-Type")); // Allow headers
+            configuration.setAllowedHeaders(List.of("Authorization", "Content-Type", "Idempotency-Key")); // Allow headers
             configuration.setAllowCredentials(true); // Allow credentials
 
             UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
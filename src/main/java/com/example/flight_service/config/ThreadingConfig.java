@@ -0,0 +1,43 @@
+package com.example.flight_service.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+
+// Reports which request execution mode is in effect. With spring.threads.virtual.enabled=true on Java 21+,
+// Tomcat, MVC async (streamed listings) and the application task executor all run on virtual threads;
+// on older runtimes Spring Boot silently keeps the platform-thread pools.
+@Configuration
+public class ThreadingConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ThreadingConfig.class);
+
+    @Autowired
+    private Environment environment;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsRequested;
+
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int connectionPoolSize;
+
+    // Log the mode once the container is up, warning when virtual threads were asked for but are unavailable
+    @EventListener(ApplicationReadyEvent.class)
+    public void reportThreadingMode() {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            logger.info("Serving requests on virtual threads; database concurrency is bounded by the {}-connection pool",
+                    connectionPoolSize);
+        } else if (virtualThreadsRequested) {
+            logger.warn("spring.threads.virtual.enabled is set but Java {} has no virtual threads; using platform threads",
+                    Runtime.version().feature());
+        } else {
+            logger.info("Serving requests on the platform thread pool");
+        }
+    }
+}
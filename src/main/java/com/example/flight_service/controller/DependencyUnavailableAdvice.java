@@ -0,0 +1,37 @@
+package com.example.flight_service.controller;
+
+import com.example.flight_service.service.DependencyUnavailableException;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+// The one answer to a call a DependencyGuard refused: 503 with Retry-After, whether LoadSheddingFilter
+// refused the request up front or a guard inside it (e.g. the database circuit) refused it mid-request
+@RestControllerAdvice
+public class DependencyUnavailableAdvice {
+
+    private static final Logger logger = LoggerFactory.getLogger(DependencyUnavailableAdvice.class);
+
+    @Value("${flight.resilience.retry-after-seconds:1}")
+    private int retryAfterSeconds = 1;
+
+    @ExceptionHandler(DependencyUnavailableException.class)
+    public ResponseEntity<Void> dependencyUnavailable(DependencyUnavailableException e) {
+        logger.warn("Request shed: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .build();
+    }
+
+    // Same answer for requests shed before they reach a controller
+    public void shed(HttpServletResponse response) {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+    }
+}
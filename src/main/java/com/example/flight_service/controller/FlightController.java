@@ -1,18 +1,52 @@
 package com.example.flight_service.controller;
 
 import com.example.flight_service.dto.FlightDTO;
+import com.example.flight_service.dto.FlightImportSummaryDTO;
+import com.example.flight_service.dto.FlightScheduleDTO;
+import com.example.flight_service.dto.SeatHoldDTO;
+import com.example.flight_service.dto.SeatMapDTO;
+import com.example.flight_service.dto.FlightPageDTO;
+import com.example.flight_service.dto.FlightSearchCriteria;
 import com.example.flight_service.entity.Flight;
 import com.example.flight_service.entity.FlightDetails;
+import com.example.flight_service.service.AvailabilityBroadcaster;
+import com.example.flight_service.service.FlightImportException;
+import com.example.flight_service.service.FlightRequestException;
+import com.example.flight_service.service.FlightScheduleFormat;
 import com.example.flight_service.service.FlightService;
+import com.example.flight_service.service.IdempotencyStore;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/flights")
@@ -20,9 +54,29 @@ public class FlightController {
 
     private static final Logger logger = LoggerFactory.getLogger(FlightController.class);
 
+    // Response types for replaying idempotent requests
+    private static final TypeReference<FlightDetails> FLIGHT_DETAILS = new TypeReference<>() {
+    };
+    private static final TypeReference<List<FlightDetails>> FLIGHT_DETAILS_LIST = new TypeReference<>() {
+    };
+    private static final TypeReference<Boolean> CANCELLED = new TypeReference<>() {
+    };
+
     @Autowired
     private FlightService flightService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private FlightScheduleFormat flightScheduleFormat;
+
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
+    @Autowired
+    private AvailabilityBroadcaster availabilityBroadcaster;
+
     // Create a new flight (Admin only)
     @PostMapping("add")
     @PreAuthorize("hasRole('ADMIN')")
@@ -31,12 +85,103 @@ public class FlightController {
             Flight savedFlight = flightService.addFlight(flight);
             logger.info("Flight created with ID: {}", savedFlight.getId());
             return new ResponseEntity<>(savedFlight, HttpStatus.CREATED);
-        } catch (Exception e) {
+        } catch (DataAccessException e) {
             logger.error("Error creating flight", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
+    // Bulk-import flights in batched transactions and report the achieved rows/sec (Admin only)
+    @PostMapping(value = "import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<FlightImportSummaryDTO> importFlights(@RequestBody List<Flight> flights) {
+        return importSchedule(() -> flights.iterator());
+    }
+
+    // Stream a CSV schedule (header row first) into batched inserts without buffering the file (Admin only)
+    @PostMapping(value = "import", consumes = FlightScheduleFormat.CSV)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<FlightImportSummaryDTO> importFlightsCsv(InputStream body) {
+        return importSchedule(() -> flightScheduleFormat.readCsv(body));
+    }
+
+    // Stream a newline-delimited JSON schedule into batched inserts without buffering the file (Admin only)
+    @PostMapping(value = "import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<FlightImportSummaryDTO> importFlightsNdjson(InputStream body) {
+        return importSchedule(() -> flightScheduleFormat.readNdjson(body));
+    }
+
+    private ResponseEntity<FlightImportSummaryDTO> importSchedule(Supplier<Iterator<Flight>> flights) {
+        try {
+            FlightImportSummaryDTO summary = flightService.importFlights(flights.get());
+            logger.info("Imported {} flights", summary.getImported());
+            return new ResponseEntity<>(summary, HttpStatus.CREATED);
+        } catch (FlightImportException e) {
+            if (e.isRejected()) {
+                logger.warn("Flight import rejected: {}", e.getMessage());
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getSummary());
+            }
+            logger.error("Error importing flights", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getSummary());
+        } catch (FlightRequestException e) {
+            logger.warn("Flight import rejected: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(FlightImportSummaryDTO.builder().error(e.getMessage()).build());
+        }
+    }
+
+    // Stream the whole schedule as CSV straight from the database cursor (Admin only)
+    @GetMapping(value = "export", produces = FlightScheduleFormat.CSV)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportScheduleCsv() {
+        logger.info("Exporting flight schedule as CSV");
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(FlightScheduleFormat.CSV))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"flights.csv\"")
+                .body(out -> {
+                    Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+                    flightScheduleFormat.writeCsvHeader(writer);
+                    exportSchedule(row -> {
+                        try {
+                            flightScheduleFormat.writeCsv(row, writer);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                    writer.flush();
+                });
+    }
+
+    // Stream the whole schedule as newline-delimited JSON straight from the database cursor (Admin only)
+    @GetMapping(value = "export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportScheduleNdjson() {
+        logger.info("Exporting flight schedule as NDJSON");
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> {
+                    OutputStream buffered = new BufferedOutputStream(out);
+                    exportSchedule(row -> {
+                        try {
+                            buffered.write(objectMapper.writeValueAsBytes(row));
+                            buffered.write('\n');
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                    buffered.flush();
+                });
+    }
+
+    private void exportSchedule(Consumer<FlightScheduleDTO> writeRow) {
+        try {
+            flightService.exportSchedule(writeRow);
+        } catch (UncheckedIOException e) {
+            logger.warn("Client went away while exporting flights: {}", e.getMessage());
+        }
+    }
+
     // Update flight details by ID (Admin only)
     @PutMapping("update/{id}")
     @PreAuthorize("hasRole('ADMIN')")
@@ -45,10 +190,10 @@ public class FlightController {
             Flight updatedFlight = flightService.updateFlight(id, flightDetails);
             logger.info("Flight updated with ID: {}", id);
             return new ResponseEntity<>(updatedFlight, HttpStatus.OK);
-        } catch (RuntimeException e) {
+        } catch (FlightRequestException e) {
             logger.warn("Flight not found for update: {}", id);
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
-        } catch (Exception e) {
+        } catch (DataAccessException e) {
             logger.error("Error updating flight with ID: {}", id, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -62,10 +207,10 @@ public class FlightController {
             Flight deletedFlight = flightService.deleteFlight(id);
             logger.info("Flight deleted with ID: {}", id);
             return new ResponseEntity<>(deletedFlight, HttpStatus.OK);
-        } catch (RuntimeException e) {
+        } catch (FlightRequestException e) {
             logger.warn("Flight not found for deletion: {}", id);
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
-        } catch (Exception e) {
+        } catch (DataAccessException e) {
             logger.error("Error deleting flight with ID: {}", id, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -78,7 +223,7 @@ public class FlightController {
             List<FlightDTO> availableFlights = flightService.getAvailableFlights();
             logger.info("Retrieved available flights");
             return new ResponseEntity<>(availableFlights, HttpStatus.OK);
-        } catch (Exception e) {
+        } catch (DataAccessException e) {
             logger.error("Error fetching available flights", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -91,12 +236,149 @@ public class FlightController {
             List<FlightDTO> flights = flightService.getAllFlights();
             logger.info("Retrieved all flights");
             return new ResponseEntity<>(flights, HttpStatus.OK);
-        } catch (Exception e) {
+        } catch (DataAccessException e) {
             logger.error("Error fetching all flights", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
+    // Retrieve one page of available flights; pass the returned nextCursor to get the following page
+    @GetMapping("available/page")
+    public ResponseEntity<FlightPageDTO> getAvailableFlightsPage(@RequestParam(required = false) String cursor,
+                                                                 @RequestParam(defaultValue = "50") int size) {
+        try {
+            FlightPageDTO page = flightService.getAvailableFlights(cursor, size);
+            logger.info("Retrieved page of {} available flights", page.getFlights().size());
+            return ResponseEntity.ok(page);
+        } catch (FlightRequestException e) {
+            logger.warn("Invalid available flights page request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (DataAccessException e) {
+            logger.error("Error fetching available flights page", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    // Retrieve one page of all flights; pass the returned nextCursor to get the following page
+    @GetMapping("/all/page")
+    public ResponseEntity<FlightPageDTO> getAllFlightsPage(@RequestParam(required = false) String cursor,
+                                                           @RequestParam(defaultValue = "50") int size) {
+        try {
+            FlightPageDTO page = flightService.getAllFlights(cursor, size);
+            logger.info("Retrieved page of {} flights", page.getFlights().size());
+            return ResponseEntity.ok(page);
+        } catch (FlightRequestException e) {
+            logger.warn("Invalid flights page request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (DataAccessException e) {
+            logger.error("Error fetching flights page", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    // Search flights on a route by departure window, seats and price; paged like /all/page
+    @GetMapping("/search")
+    public ResponseEntity<FlightPageDTO> searchFlights(
+            @RequestParam String departure,
+            @RequestParam String destination,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "1") int minSeats,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        try {
+            FlightSearchCriteria criteria = FlightSearchCriteria.builder()
+                    .departure(departure)
+                    .destination(destination)
+                    .from(from)
+                    .to(to)
+                    .minSeats(minSeats)
+                    .maxPrice(maxPrice)
+                    .build();
+            FlightPageDTO page = flightService.searchFlights(criteria, cursor, size);
+            logger.info("Found {} flights from {} to {}", page.getFlights().size(), departure, destination);
+            return ResponseEntity.ok(page);
+        } catch (FlightRequestException e) {
+            logger.warn("Invalid flight search: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (DataAccessException e) {
+            logger.error("Error searching flights from {} to {}", departure, destination, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    // Stream available flights as newline-delimited JSON straight from the database cursor
+    @GetMapping(value = "available/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAvailableFlights() {
+        logger.info("Streaming available flights");
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(ndjson(true));
+    }
+
+    // Stream all flights as newline-delimited JSON straight from the database cursor
+    @GetMapping(value = "/all/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllFlights() {
+        logger.info("Streaming all flights");
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(ndjson(false));
+    }
+
+    private StreamingResponseBody ndjson(boolean availableOnly) {
+        return out -> {
+            try {
+                flightService.streamFlights(availableOnly, flight -> {
+                    try {
+                        out.write(objectMapper.writeValueAsBytes(flight));
+                        out.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                logger.warn("Client went away while streaming flights: {}", e.getMessage());
+            }
+        };
+    }
+
+    // Server-sent "seat-map" events for the given flights: the full map first, then coalesced deltas
+    @GetMapping(value = "/availability/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamAvailability(@RequestParam List<Long> flightIds) {
+        try {
+            return ResponseEntity.ok(availabilityBroadcaster.subscribe(flightIds));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Rejected availability stream for flights {}: {}", flightIds, e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        } catch (FlightRequestException e) {
+            logger.warn("Availability stream not available for flights {}: {}", flightIds, e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        } catch (DataAccessException e) {
+            logger.error("Error opening availability stream for flights {}", flightIds, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    // Status of every seat; with since=<version> only the seats changed after it. Polls whose If-None-Match
+    // (weak or strong, possibly one of a list) still matches the current version get 304 without a body
+    @GetMapping("/{flightId}/seat-map")
+    public ResponseEntity<SeatMapDTO> getSeatMap(@PathVariable Integer flightId,
+                                                 @RequestParam(required = false) Long since,
+                                                 WebRequest request) {
+        try {
+            SeatMapDTO seatMap = flightService.getSeatMap(flightId, since);
+            String eTag = "\"" + seatMap.getVersion() + "\"";
+            if (request.checkNotModified(eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(CacheControl.noCache())
+                        .build();
+            }
+            return ResponseEntity.ok().eTag(eTag).cacheControl(CacheControl.noCache()).body(seatMap);
+        } catch (FlightRequestException e) {
+            logger.warn("Seat map not available for flight ID: {}", flightId);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        } catch (DataAccessException e) {
+            logger.error("Error fetching seat map for flight ID: {}", flightId, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     // Check seat availability for a specific flight (Passenger only)
     @GetMapping("/check-availability")
     @PreAuthorize("hasRole('PASSENGER')")
@@ -105,40 +387,131 @@ public class FlightController {
             boolean available = flightService.isSeatAvailable(flightId);
             logger.info("Checked seat availability for flight ID: {}", flightId);
             return ResponseEntity.ok(available);
-        } catch (Exception e) {
+        } catch (DataAccessException e) {
             logger.error("Error checking seat availability for flight ID: {}", flightId, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
-    // Book a seat in a specific flight (Passenger only)
+    // Book a seat in a specific flight; a retry with the same Idempotency-Key gets the same seat (Passenger only)
     @PutMapping("/book-seats")
     @PreAuthorize("hasRole('PASSENGER')")
-    public ResponseEntity<FlightDetails> bookSeat(@RequestParam Integer flightId) {
+    public ResponseEntity<FlightDetails> bookSeat(@RequestParam Integer flightId,
+                                                  @RequestHeader(value = IdempotencyStore.HEADER, required = false)
+                                                  String idempotencyKey) {
         try {
-            FlightDetails details = flightService.bookSeat(flightId);
+            FlightDetails details = idempotencyStore.execute(idempotencyKey, "book:" + flightId, FLIGHT_DETAILS,
+                    () -> flightService.bookSeat(flightId));
             logger.info("Seat booked for flight ID: {}", flightId);
             return ResponseEntity.ok(details);
-        } catch (RuntimeException e) {
+        } catch (FlightRequestException e) {
             logger.warn("Booking failed: {}", e.getMessage());
             return ResponseEntity.badRequest().build();
-        } catch (Exception e) {
+        } catch (DataAccessException e) {
             logger.error("Error booking seat for flight ID: {}", flightId, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
-    // Cancel a seat in a specific flight
+    // Book several seats in one all-or-nothing request, by count or by explicit seat numbers (Passenger only)
+    @PutMapping("/book-seats/batch")
+    @PreAuthorize("hasRole('PASSENGER')")
+    public ResponseEntity<List<FlightDetails>> bookSeats(@RequestParam Integer flightId,
+                                                         @RequestParam(required = false) Integer count,
+                                                         @RequestParam(required = false) List<String> seatNumbers,
+                                                         @RequestHeader(value = IdempotencyStore.HEADER, required = false)
+                                                         String idempotencyKey) {
+        try {
+            List<FlightDetails> details;
+            if (seatNumbers != null && !seatNumbers.isEmpty()) {
+                details = idempotencyStore.execute(idempotencyKey, "book:" + flightId + ":" + seatNumbers,
+                        FLIGHT_DETAILS_LIST, () -> flightService.bookSeats(flightId, seatNumbers));
+            } else if (count != null) {
+                details = idempotencyStore.execute(idempotencyKey, "book:" + flightId + ":x" + count,
+                        FLIGHT_DETAILS_LIST, () -> flightService.bookSeats(flightId, count));
+            } else {
+                logger.warn("Batch booking for flight ID: {} without count or seat numbers", flightId);
+                return ResponseEntity.badRequest().build();
+            }
+            logger.info("{} seats booked for flight ID: {}", details.size(), flightId);
+            return ResponseEntity.ok(details);
+        } catch (FlightRequestException e) {
+            logger.warn("Batch booking failed: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (DataAccessException e) {
+            logger.error("Error booking seats for flight ID: {}", flightId, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    // Hold seats while payment is taken; confirm or release the hold before it expires (Passenger only)
+    @PutMapping("/hold-seats")
+    @PreAuthorize("hasRole('PASSENGER')")
+    public ResponseEntity<SeatHoldDTO> holdSeats(@RequestParam Integer flightId,
+                                                 @RequestParam(defaultValue = "1") int count) {
+        try {
+            SeatHoldDTO hold = flightService.holdSeats(flightId, count);
+            logger.info("{} seats held for flight ID: {}", hold.getSeatNumbers().size(), flightId);
+            return ResponseEntity.ok(hold);
+        } catch (FlightRequestException e) {
+            logger.warn("Seat hold failed: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (DataAccessException e) {
+            logger.error("Error holding seats for flight ID: {}", flightId, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    // Book the seats of a live hold (Passenger only)
+    @PutMapping("/hold-seats/{holdId}/confirm")
+    @PreAuthorize("hasRole('PASSENGER')")
+    public ResponseEntity<List<FlightDetails>> confirmHold(@PathVariable String holdId) {
+        try {
+            List<FlightDetails> details = flightService.confirmHold(holdId);
+            logger.info("Hold {} confirmed", holdId);
+            return ResponseEntity.ok(details);
+        } catch (FlightRequestException e) {
+            logger.warn("Hold confirmation failed: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (DataAccessException e) {
+            logger.error("Error confirming hold {}", holdId, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    // Return the seats of a live hold, e.g. after a failed payment (Passenger only)
+    @PutMapping("/hold-seats/{holdId}/release")
+    @PreAuthorize("hasRole('PASSENGER')")
+    public ResponseEntity<String> releaseHold(@PathVariable String holdId) {
+        try {
+            flightService.releaseHold(holdId);
+            logger.info("Hold {} released", holdId);
+            return ResponseEntity.ok("Hold released!");
+        } catch (FlightRequestException e) {
+            logger.warn("Hold release failed: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (DataAccessException e) {
+            logger.error("Error releasing hold {}", holdId, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Internal server error");
+        }
+    }
+
+    // Cancel a seat in a specific flight; a retry with the same Idempotency-Key succeeds again
     @PutMapping("/cancel-seat")
-    public ResponseEntity<String> cancelSeat(@RequestParam Integer flightId, @RequestParam String seatNumber) {
+    public ResponseEntity<String> cancelSeat(@RequestParam Integer flightId, @RequestParam String seatNumber,
+                                             @RequestHeader(value = IdempotencyStore.HEADER, required = false)
+                                             String idempotencyKey) {
         try {
-            flightService.cancelSeat(flightId, seatNumber);
+            idempotencyStore.execute(idempotencyKey, "cancel:" + flightId + ":" + seatNumber, CANCELLED, () -> {
+                flightService.cancelSeat(flightId, seatNumber);
+                return Boolean.TRUE;
+            });
             logger.info("Seat {} cancelled in flight ID: {}", seatNumber, flightId);
             return ResponseEntity.ok("Seat cancellation successful!");
-        } catch (RuntimeException e) {
+        } catch (FlightRequestException e) {
             logger.warn("Seat cancellation failed: {}", e.getMessage());
             return ResponseEntity.badRequest().body(e.getMessage());
-        } catch (Exception e) {
+        } catch (DataAccessException e) {
             logger.error("Error cancelling seat {} in flight ID: {}", seatNumber, flightId, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Internal server error");
         }
@@ -151,10 +524,10 @@ public class FlightController {
             FlightDetails details = flightService.getFlightDetailsById(flightId);
             logger.info("Fetched flight details for ID: {}", flightId);
             return ResponseEntity.ok(details);
-        } catch (RuntimeException e) {
+        } catch (FlightRequestException e) {
             logger.warn("Flight not found with ID: {}", flightId);
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
-        } catch (Exception e) {
+        } catch (DataAccessException e) {
             logger.error("Error retrieving flight details for ID: {}", flightId, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -0,0 +1,64 @@
+package com.example.flight_service.controller;
+
+import com.example.flight_service.dto.FlightDTO;
+import com.example.flight_service.entity.FlightDetails;
+import com.example.flight_service.service.FlightRequestException;
+import com.example.flight_service.service.FlightService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+// Non-blocking read surface for browse traffic: listings are written element by element as the client
+// consumes them (NDJSON or SSE), and the servlet thread is released as soon as the stream starts
+@RestController
+@RequestMapping("/flights/rx")
+public class ReactiveFlightController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveFlightController.class);
+
+    @Autowired
+    private FlightService flightService;
+
+    // Stream all flights
+    @GetMapping(value = "/all", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<FlightDTO> getAllFlights() {
+        logger.info("Publishing all flights");
+        return flightService.publishFlights(false)
+                .doOnError(e -> logger.error("Error publishing all flights", e));
+    }
+
+    // Stream flights with available seats
+    @GetMapping(value = "/available", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<FlightDTO> getAvailableFlights() {
+        logger.info("Publishing available flights");
+        return flightService.publishFlights(true)
+                .doOnError(e -> logger.error("Error publishing available flights", e));
+    }
+
+    // Get flight details by flight ID without blocking the request thread
+    @GetMapping("/getDetails")
+    public Mono<ResponseEntity<FlightDetails>> getDetails(@RequestParam Integer flightId) {
+        return Mono.fromCallable(() -> flightService.getFlightDetailsById(flightId))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(ResponseEntity::ok)
+                .onErrorResume(FlightRequestException.class, e -> {
+                    logger.warn("Flight details not found for ID {}: {}", flightId, e.getMessage());
+                    return Mono.just(ResponseEntity.notFound().build());
+                })
+                .onErrorResume(DataAccessException.class, e -> {
+                    logger.error("Error fetching flight details for ID {}", flightId, e);
+                    return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
+                });
+    }
+}
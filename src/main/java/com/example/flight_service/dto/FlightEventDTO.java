@@ -0,0 +1,21 @@
+package com.example.flight_service.dto;
+
+import com.example.flight_service.entity.FlightEventType;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FlightEventDTO {
+    private Long id; // increases with commit order per flight; delivery is at-least-once, so dedupe on it
+    private FlightEventType type;
+    private Long flightId;
+    private LocalDateTime occurredAt;
+    @JsonRawValue
+    private String payload; // JSON as stored in the outbox
+}
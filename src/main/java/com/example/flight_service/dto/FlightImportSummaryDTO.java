@@ -0,0 +1,16 @@
+package com.example.flight_service.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FlightImportSummaryDTO {
+    private int imported;
+    private int batches; // transactions committed
+    private long elapsedMillis;
+    private double rowsPerSecond;
+    private String error; // why the import stopped early; null when every row was imported
+}
@@ -0,0 +1,15 @@
+package com.example.flight_service.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FlightPageDTO {
+    private List<FlightDTO> flights;
+    private String nextCursor; // null on the last page
+}
@@ -0,0 +1,23 @@
+package com.example.flight_service.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// One schedule row as exported and re-imported; id and availableSeats are ignored on import
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FlightScheduleDTO {
+    private Long id;
+    private String airline;
+    private String departure;
+    private String destination;
+    private LocalDateTime departureTime;
+    private LocalDateTime arrivalTime;
+    private int totalSeats;
+    private int availableSeats;
+    private double price;
+}
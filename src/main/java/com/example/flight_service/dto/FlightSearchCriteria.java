@@ -0,0 +1,19 @@
+package com.example.flight_service.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FlightSearchCriteria {
+    private String departure;
+    private String destination;
+    private LocalDateTime from;    // inclusive, open-ended when null
+    private LocalDateTime to;      // exclusive, open-ended when null
+    private int minSeats;
+    private Double maxPrice;       // no limit when null
+}
@@ -0,0 +1,18 @@
+package com.example.flight_service.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SeatHoldDTO {
+    private String holdId;
+    private Long flightId;
+    private List<String> seatNumbers;
+    private LocalDateTime expiresAt; // seats return to the pool unless confirmed by then
+}
@@ -0,0 +1,19 @@
+package com.example.flight_service.dto;
+
+import com.example.flight_service.entity.SeatStatus;
+import lombok.*;
+
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SeatMapDTO {
+    private Long flightId;
+    private long version; // pass back as ?since= to get only later changes
+    private int availableSeats;
+    private boolean delta; // true: seats holds only the seats changed since the requested version
+    private Map<String, SeatStatus> seats; // in seat order, e.g. "1A" -> AVAILABLE
+}
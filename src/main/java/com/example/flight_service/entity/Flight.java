@@ -1,6 +1,6 @@
 package com.example.flight_service.entity;
 
-import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
 import java.time.LocalDateTime;
@@ -12,10 +12,21 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@Table(name = "flights")
+@Table(name = "flights", indexes = {
+        // Route search: equality on the route, range on departure time
+        @Index(name = "idx_flights_route_departure", columnList = "departure, destination, departure_time")
+})
 public class Flight {
+    // Largest cabin the packed seat map can describe
+    public static final int MAX_SEATS = 1024;
+
+    // Ids handed out per sequence round trip; matches hibernate.jdbc.batch_size
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // Pooled sequence (a table on MySQL): ids come 50 at a time, so inserts can be batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "flights_seq")
+    @SequenceGenerator(name = "flights_seq", sequenceName = "flights_seq", allocationSize = Flight.ID_ALLOCATION_SIZE)
     private Long id;
 
     private String airline;
@@ -28,35 +39,31 @@ public class Flight {
 
     private int totalSeats;
 
-    @OneToMany(mappedBy = "flight", cascade = CascadeType.ALL, orphanRemoval = true)
-    @JsonManagedReference
+    // Optimistic lock guarding availableSeats against concurrent bookings
+    @Version
+    @JsonIgnore
+    private long version;
+
+    // One SeatStatus code per seat in row-major order ("AABA..."), so a new flight is a single row
+    @Column(name = "seat_map", length = MAX_SEATS)
+    @JsonIgnore
+    private String seatMap;
+
+    // Seat rows are only materialized for booked seats; Seat.flightId owns the column
+    @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true)
+    @JoinColumn(name = "flight_id", insertable = false, updatable = false)
     private List<Seat> seats = new ArrayList<>();
 
     @PrePersist
     public void prePersist() {
         this.availableSeats = this.totalSeats;
+        if (this.seatMap == null) {
+            this.seatMap = emptySeatMap(this.totalSeats);
+        }
     }
 
-    @PostPersist
-    public void initializeSeats() {
-        if (seats == null || seats.isEmpty() && totalSeats > 0) {
-            List<Seat> newSeats = new ArrayList<>();
-            int rows = (int) Math.ceil((double) totalSeats / 6); // Calculate rows dynamically
-            for (int row = 1; row <= rows; row++) {
-                for (char col = 'A'; col <= 'F'; col++) {
-                    int seatIndex = (row - 1) * 6 + (col - 'A' + 1);
-                    if (seatIndex > totalSeats) break; // Stop if we exceed the total seats
-
-                    Seat seat = Seat.builder()
-                            .seatNumber(row + String.valueOf(col))
-                            .status(SeatStatus.AVAILABLE)
-                            .flight(this)
-                            .build();
-                    newSeats.add(seat);
-                }
-            }
-            this.seats = newSeats;
-        }
+    // Seat map of a flight with every seat available
+    public static String emptySeatMap(int totalSeats) {
+        return SeatStatus.AVAILABLE.codeString().repeat(totalSeats);
     }
 }
-
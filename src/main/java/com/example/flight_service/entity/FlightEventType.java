@@ -0,0 +1,9 @@
+package com.example.flight_service.entity;
+
+// Kinds of change relayed from the outbox; the event payload depends on the type
+public enum FlightEventType {
+    FLIGHT_ADDED,   // payload: the flight's schedule row
+    FLIGHT_UPDATED, // payload: the flight's schedule row after the update
+    FLIGHT_DELETED, // payload: the flight's last schedule row
+    SEATS_CHANGED   // payload: seat numbers and the status they moved to
+}
@@ -0,0 +1,32 @@
+package com.example.flight_service.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// An idempotent request, claimed before it runs and completed with its response, so a retry reaching another
+// node (or arriving after a restart) is answered or turned away instead of running again
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "idempotency_keys", indexes = @Index(name = "idx_idempotency_created", columnList = "created_at"))
+public class IdempotencyRecord {
+    // Caller identity and Idempotency-Key header
+    @Id
+    @Column(name = "idempotency_key", length = 255)
+    private String key;
+
+    // What the key was first used for; reusing it for anything else is rejected
+    @Column(nullable = false)
+    private String request;
+
+    // Null while the request that claimed the key is still running (or died without finishing)
+    @Lob
+    private String response;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,36 @@
+package com.example.flight_service.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// A flight or seat change waiting to be relayed, written in the same transaction as the change itself
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "outbox_events")
+public class OutboxEvent {
+    // IDENTITY on purpose: the id is taken at insert time, after the change has locked the flight row, so one
+    // flight's events are numbered in commit order (a pooled sequence hands ids out ahead of time)
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "flight_id", nullable = false)
+    private Long flightId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private FlightEventType type;
+
+    // JSON body, relayed verbatim
+    @Lob
+    @Column(nullable = false)
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -1,19 +1,24 @@
 package com.example.flight_service.entity;
 
-import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.time.LocalDateTime;
+
 @Entity
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@Table(name = "seats")
+@Table(name = "seats", indexes = {
+        @Index(name = "idx_seats_hold", columnList = "hold_id"),
+        @Index(name = "idx_seats_held_until", columnList = "held_until")
+})
 public class Seat {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seats_seq")
+    @SequenceGenerator(name = "seats_seq", sequenceName = "seats_seq", allocationSize = Flight.ID_ALLOCATION_SIZE)
     private Long id;
 
     private String seatNumber;
@@ -21,8 +26,20 @@ public class Seat {
     @Enumerated(EnumType.STRING)
     private SeatStatus status;  // Available, Booked, Reserved
 
-    @ManyToOne
-    @JoinColumn(name = "flight_id", nullable = false)
-    @JsonBackReference
-    private Flight flight;
+    @Version
+    @JsonIgnore
+    private long version;
+
+    // Set only while the seat is RESERVED: the hold it belongs to and when that hold lapses
+    @Column(name = "hold_id", length = 36)
+    @JsonIgnore
+    private String holdId;
+
+    @JsonIgnore
+    private LocalDateTime heldUntil;
+
+    // The only mapping of flight_id: a seat is written and read without loading or referencing its Flight
+    @Column(name = "flight_id", nullable = false)
+    @JsonIgnore
+    private Long flightId;
 }
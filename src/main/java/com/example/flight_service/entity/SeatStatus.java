@@ -1,7 +1,31 @@
 package com.example.flight_service.entity;
 
 public enum SeatStatus {
-    AVAILABLE,
-    BOOKED,
-    RESERVED
-}
\ No newline at end of file
+    AVAILABLE('A'),
+    BOOKED('B'),
+    RESERVED('R');
+
+    // Single-character form stored per seat in Flight.seatMap
+    private final char code;
+
+    SeatStatus(char code) {
+        this.code = code;
+    }
+
+    public char code() {
+        return code;
+    }
+
+    public String codeString() {
+        return String.valueOf(code);
+    }
+
+    public static SeatStatus fromCode(char code) {
+        for (SeatStatus status : values()) {
+            if (status.code == code) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("Unknown seat status code: " + code);
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.flight_service.filter;
 
 import com.example.flight_service.service.JWTService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -36,16 +37,15 @@ public class JwtFilter extends OncePerRequestFilter {
 
         try {
             String authHeader = request.getHeader("Authorization");
-            String token = null;
             String username = null;
             String role = null;
 
-            // Extract token from Authorization header
+            // Verify the token from the Authorization header once; subject, role and expiry all come from it
             if (authHeader != null && authHeader.startsWith("Bearer ")) {
-                token = authHeader.substring(7).trim();
-                username = jwtService.extractUsername(token);
-                role = jwtService.extractRole(token);
-                logger.debug("Token extracted for user: {}", username);
+                Claims claims = jwtService.verify(authHeader.substring(7).trim());
+                username = claims.getSubject();
+                role = claims.get("role", String.class);
+                logger.debug("Token verified for user: {}", username);
             }
 
             // Proceed only if the user is not already authenticated
@@ -60,22 +60,17 @@ public class JwtFilter extends OncePerRequestFilter {
                         List.of(new SimpleGrantedAuthority(formattedRole))
                 );
 
-                // Validate token
-                if (jwtService.validateToken(token, userDetails)) {
-                    UsernamePasswordAuthenticationToken authToken =
-                            new UsernamePasswordAuthenticationToken(
-                                    userDetails,
-                                    null,
-                                    userDetails.getAuthorities()
-                            );
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                UsernamePasswordAuthenticationToken authToken =
+                        new UsernamePasswordAuthenticationToken(
+                                userDetails,
+                                null,
+                                userDetails.getAuthorities()
+                        );
+                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
-                    // Set authentication in the context
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                    logger.info("Authentication set for user: {}", username);
-                } else {
-                    logger.warn("Invalid JWT token for user: {}", username);
-                }
+                // Set authentication in the context
+                SecurityContextHolder.getContext().setAuthentication(authToken);
+                logger.info("Authentication set for user: {}", username);
             }
         } catch (Exception e) {
             logger.error("Exception occurred in JWT filter: {}", e.getMessage(), e);
@@ -0,0 +1,91 @@
+package com.example.flight_service.filter;
+
+import com.example.flight_service.controller.DependencyUnavailableAdvice;
+import com.example.flight_service.service.DependencyGuard;
+import com.example.flight_service.service.DependencyUnavailableException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// Sheds /flights requests with an immediate 503 and Retry-After instead of letting them queue: when their
+// compartment (bookings or everything else) is full, or, for bookings, while the database circuit is open.
+// Streaming responses release their slot once the request goes async.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class LoadSheddingFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadSheddingFilter.class);
+
+    @Autowired
+    @Qualifier("bookingRequestGuard")
+    private DependencyGuard bookingRequestGuard;
+
+    @Autowired
+    @Qualifier("queryRequestGuard")
+    private DependencyGuard queryRequestGuard;
+
+    @Autowired
+    @Qualifier("databaseGuard")
+    private DependencyGuard databaseGuard;
+
+    @Autowired
+    private DependencyUnavailableAdvice dependencyUnavailableAdvice;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !path(request).startsWith("/flights/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean booking = isBooking(path(request));
+        if (booking && databaseGuard.isOpen()) {
+            shed(response, "database circuit open", request);
+            return;
+        }
+        try {
+            (booking ? bookingRequestGuard : queryRequestGuard).call(() -> {
+                filterChain.doFilter(request, response);
+                return null;
+            });
+        } catch (DependencyUnavailableException e) {
+            if (response.isCommitted()) {
+                throw e;
+            }
+            shed(response, e.getMessage(), request);
+        } catch (IOException | ServletException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ServletException(e);
+        }
+    }
+
+    private void shed(HttpServletResponse response, String reason, HttpServletRequest request) {
+        logger.debug("Shedding {} {}: {}", request.getMethod(), request.getRequestURI(), reason);
+        dependencyUnavailableAdvice.shed(response);
+    }
+
+    // Seat mutations: booking, holds and cancellation
+    static boolean isBooking(String path) {
+        return path.startsWith("/flights/book-seats") || path.startsWith("/flights/hold-seats")
+                || path.startsWith("/flights/cancel-seat");
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+}
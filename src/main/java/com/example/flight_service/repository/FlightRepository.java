@@ -1,10 +1,138 @@
 package com.example.flight_service.repository;
 
+import com.example.flight_service.dto.FlightDTO;
+import com.example.flight_service.dto.FlightScheduleDTO;
 import com.example.flight_service.entity.Flight;
+import com.example.flight_service.entity.FlightDetails;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface FlightRepository extends JpaRepository<Flight, Integer> {
-    List<Flight> findByAvailableSeatsGreaterThan(int seats);
-}
\ No newline at end of file
+    // FlightDTO projections: only the listed columns are selected and nothing enters the persistence context
+    String FLIGHT_DTO = "select new com.example.flight_service.dto.FlightDTO(f.id, f.airline, f.departure, "
+            + "f.destination, f.departureTime, f.arrivalTime, f.availableSeats, f.price) from Flight f ";
+
+    @Query(FLIGHT_DTO + "order by f.id")
+    List<FlightDTO> findAllFlightDTOs();
+
+    @Query(FLIGHT_DTO + "where f.availableSeats > 0 order by f.id")
+    List<FlightDTO> findAvailableFlightDTOs();
+
+    // Keyset pages: callers pass the last id they saw instead of an offset
+    @Query(FLIGHT_DTO + "where f.id > :afterId order by f.id")
+    List<FlightDTO> findFlightDTOPage(@Param("afterId") Long afterId, Limit limit);
+
+    @Query(FLIGHT_DTO + "where f.availableSeats > 0 and f.id > :afterId order by f.id")
+    List<FlightDTO> findAvailableFlightDTOPage(@Param("afterId") Long afterId, Limit limit);
+
+    // Route search served by idx_flights_route_departure, keyset-paged on (departureTime, id)
+    @Query(FLIGHT_DTO + "where f.departure = :departure and f.destination = :destination "
+            + "and f.departureTime >= :from and f.departureTime < :to "
+            + "and f.availableSeats >= :minSeats and f.price <= :maxPrice "
+            + "and (f.departureTime > :afterTime or (f.departureTime = :afterTime and f.id > :afterId)) "
+            + "order by f.departureTime, f.id")
+    List<FlightDTO> searchFlightDTOs(@Param("departure") String departure,
+                                     @Param("destination") String destination,
+                                     @Param("from") LocalDateTime from,
+                                     @Param("to") LocalDateTime to,
+                                     @Param("minSeats") int minSeats,
+                                     @Param("maxPrice") double maxPrice,
+                                     @Param("afterTime") LocalDateTime afterTime,
+                                     @Param("afterId") Long afterId,
+                                     Limit limit);
+
+    // Server-side cursors; must be consumed inside a transaction and closed
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(FLIGHT_DTO + "order by f.id")
+    Stream<FlightDTO> streamAllFlightDTOs();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(FLIGHT_DTO + "where f.availableSeats > 0 order by f.id")
+    Stream<FlightDTO> streamAvailableFlightDTOs();
+
+    // Schedule export: every column an import needs to recreate the flight
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.example.flight_service.dto.FlightScheduleDTO(f.id, f.airline, f.departure, f.destination, "
+            + "f.departureTime, f.arrivalTime, f.totalSeats, f.availableSeats, f.price) from Flight f order by f.id")
+    Stream<FlightScheduleDTO> streamFlightSchedule();
+
+    // Reads the columns needed for a booking confirmation without loading the Flight aggregate
+    @Query("select new com.example.flight_service.entity.FlightDetails(f.airline, null, f.departure, f.destination, "
+            + "f.departureTime, f.arrivalTime, f.price) from Flight f where f.id = :flightId")
+    Optional<FlightDetails> findDetailsById(@Param("flightId") Long flightId);
+
+    // Packed seat map of a flight (see Flight.seatMap)
+    @Query("select f.seatMap from Flight f where f.id = :flightId")
+    Optional<String> findSeatMapById(@Param("flightId") Long flightId);
+
+    // Seat map together with the version it was written at (bumped by every seat change), read in one statement
+    // so a snapshot is always labelled with exactly its own version
+    @Query("select f.version as version, f.seatMap as seatMap from Flight f where f.id = :flightId")
+    Optional<VersionedSeatMap> findVersionedSeatMapById(@Param("flightId") Long flightId);
+
+    interface VersionedSeatMap {
+        long getVersion();
+
+        String getSeatMap();
+    }
+
+    // Current version of each listed flight; ids missing from the result no longer exist
+    @Query("select f.id as id, f.version as version from Flight f where f.id in :ids")
+    List<FlightVersion> findVersionsByIdIn(@Param("ids") Collection<Long> ids);
+
+    interface FlightVersion {
+        Long getId();
+
+        long getVersion();
+    }
+
+    // Flips one seat in the seat map and moves the counter in the same row update;
+    // returns 0 when the seat (zero-based position) is not in the expected state
+    @Modifying
+    @Query("update Flight f set f.seatMap = concat(substring(f.seatMap, 1, :position), :to, "
+            + "substring(f.seatMap, :position + 2)), f.availableSeats = f.availableSeats + :delta, "
+            + "f.version = f.version + 1 "
+            + "where f.id = :flightId and substring(f.seatMap, :position + 1, 1) = :from")
+    int transitionSeat(@Param("flightId") Long flightId, @Param("position") int position,
+                       @Param("from") String from, @Param("to") String to, @Param("delta") int delta);
+
+    // Compare-and-set of the whole seat map for multi-seat changes; returns 0 if anyone changed it since it was read
+    @Modifying
+    @Query("update Flight f set f.seatMap = :seatMap, f.availableSeats = f.availableSeats + :delta, "
+            + "f.version = f.version + 1 where f.id = :flightId and f.seatMap = :expected")
+    int replaceSeatMap(@Param("flightId") Long flightId, @Param("expected") String expected,
+                       @Param("seatMap") String seatMap, @Param("delta") int delta);
+
+    // Free seats according to the seat map: its length less its length with every 'A' removed
+    String FREE_SEATS = "(length(f.seatMap) - length(replace(f.seatMap, 'A', '')))";
+
+    // Flights whose counter disagrees with their seat map
+    @Query("select f.id from Flight f where f.seatMap is not null and f.availableSeats <> " + FREE_SEATS)
+    List<Long> findIdsWithAvailabilityDrift();
+
+    // Recount one flight's counter from its seat map in a single row update; 0 if it was already right
+    @Modifying
+    @Query("update Flight f set f.availableSeats = " + FREE_SEATS + ", f.version = f.version + 1 "
+            + "where f.id = :flightId and f.availableSeats <> " + FREE_SEATS)
+    int reconcileAvailableSeats(@Param("flightId") Long flightId);
+
+    // Flights created before the seat map existed
+    List<Flight> findBySeatMapIsNull();
+
+    // One-time fill of a legacy flight's seat map
+    @Modifying
+    @Query("update Flight f set f.seatMap = :seatMap where f.id = :flightId and f.seatMap is null")
+    int initializeSeatMap(@Param("flightId") Long flightId, @Param("seatMap") String seatMap);
+}
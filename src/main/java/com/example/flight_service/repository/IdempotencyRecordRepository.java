@@ -0,0 +1,36 @@
+package com.example.flight_service.repository;
+
+import com.example.flight_service.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    // Plain insert of a pending record; a key that is already taken fails on the primary key
+    @Modifying
+    @Transactional
+    @Query(value = "insert into idempotency_keys (idempotency_key, request, created_at) "
+            + "values (:key, :request, :createdAt)", nativeQuery = true)
+    int claim(@Param("key") String key, @Param("request") String request, @Param("createdAt") LocalDateTime createdAt);
+
+    @Modifying
+    @Transactional
+    @Query("update IdempotencyRecord r set r.response = :response where r.key = :key")
+    int complete(@Param("key") String key, @Param("response") String response);
+
+    // Give up a claim whose request failed, so the key can be used again
+    @Modifying
+    @Transactional
+    @Query("delete from IdempotencyRecord r where r.key = :key and r.response is null")
+    int release(@Param("key") String key);
+
+    @Modifying
+    @Transactional
+    @Query("delete from IdempotencyRecord r where r.createdAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
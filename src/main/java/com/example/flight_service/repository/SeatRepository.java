@@ -0,0 +1,42 @@
+package com.example.flight_service.repository;
+
+import com.example.flight_service.entity.Seat;
+import com.example.flight_service.entity.SeatStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface SeatRepository extends JpaRepository<Seat, Long> {
+
+    // Only the seat numbers are selected, so SeatMapBackfill rebuilds seat maps without hydrating Seat entities
+    @Query("select s.seatNumber from Seat s where s.flightId = :flightId and s.status = :status")
+    List<String> findSeatNumbersByFlightIdAndStatus(@Param("flightId") Long flightId, @Param("status") SeatStatus status);
+
+    @Modifying
+    @Query("delete from Seat s where s.flightId = :flightId and s.seatNumber = :seatNumber")
+    int deleteSeat(@Param("flightId") Long flightId, @Param("seatNumber") String seatNumber);
+
+    // Seats of holds that are still RESERVED; confirmed, released and expired holds match nothing
+    List<Seat> findByHoldIdAndStatus(String holdId, SeatStatus status);
+
+    List<Seat> findByHoldIdInAndStatus(Collection<String> holdIds, SeatStatus status);
+
+    // Seats of a hold that has not lapsed yet, whether or not it has been swept
+    List<Seat> findByHoldIdAndStatusAndHeldUntilAfter(String holdId, SeatStatus status, LocalDateTime now);
+
+    // Lapsed held seats, oldest first; a range scan of idx_seats_held_until
+    List<Seat> findByHeldUntilBeforeAndStatusOrderByHeldUntil(LocalDateTime now, SeatStatus status, Limit limit);
+
+    List<Seat> findByStatus(SeatStatus status);
+
+    // Legacy rows for seats that are merely available, no longer needed once the seat map is filled
+    @Modifying
+    @Query("delete from Seat s where s.flightId = :flightId and s.status = :status")
+    int deleteByFlightIdAndStatus(@Param("flightId") Long flightId, @Param("status") SeatStatus status);
+}
@@ -0,0 +1,276 @@
+package com.example.flight_service.service;
+
+import com.example.flight_service.dto.SeatMapDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Server-sent seat map updates for subscribed flights. Each stream starts with the full seat map of every
+// flight it follows; after that, once per push interval, every flight whose version moved gets one delta per
+// version its subscribers were last sent (normally just one), serialized once and written to all of them,
+// however many bookings landed in between. Local changes reach SeatMapSnapshots through
+// FlightAvailabilityChanged; other nodes' changes are seen when the snapshot's staleness check finds a newer
+// version. The scheduler only hands flights to a small pool of writer threads, so a slow client never holds
+// up the other scheduled jobs, and a flight is not handed over again while its previous push is still writing.
+@Component
+public class AvailabilityBroadcaster {
+
+    private static final Logger logger = LoggerFactory.getLogger(AvailabilityBroadcaster.class);
+
+    public static final String SEAT_MAP_EVENT = "seat-map";
+
+    private final Map<Long, Set<Subscription>> subscribers = new ConcurrentHashMap<>();
+    private final Set<Long> pushing = ConcurrentHashMap.newKeySet();
+    private volatile long lastHeartbeat = System.nanoTime();
+    private ExecutorService writers;
+
+    @Autowired
+    private SeatMapSnapshots seatMapSnapshots;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private FlightMetrics flightMetrics;
+
+    @Value("${flight.availability.stream-timeout:30m}")
+    private Duration streamTimeout = Duration.ofMinutes(30);
+
+    @Value("${flight.availability.max-flights-per-stream:20}")
+    private int maxFlightsPerStream = 20;
+
+    @Value("${flight.availability.heartbeat:15s}")
+    private Duration heartbeat = Duration.ofSeconds(15);
+
+    @Value("${flight.availability.writer-threads:4}")
+    private int writerThreads = 4;
+
+    @PostConstruct
+    void startWriters() {
+        writers = Executors.newFixedThreadPool(writerThreads, new CustomizableThreadFactory("availability-push-"));
+    }
+
+    @PreDestroy
+    void stopWriters() {
+        writers.shutdownNow();
+    }
+
+    // Open a stream for the given flights; unknown flights fail before anything is sent
+    public SseEmitter subscribe(List<Long> flightIds) {
+        Set<Long> ids = new LinkedHashSet<>(flightIds);
+        if (ids.isEmpty() || ids.size() > maxFlightsPerStream) {
+            throw new IllegalArgumentException("Subscribe to between 1 and " + maxFlightsPerStream + " flights");
+        }
+        Map<Long, SeatMapDTO> initial = new HashMap<>(ids.size() * 4 / 3 + 1);
+        for (Long flightId : ids) {
+            initial.put(flightId, seatMapSnapshots.get(flightId, null));
+        }
+
+        SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+        Subscription subscription = new Subscription(emitter);
+        emitter.onCompletion(() -> unsubscribe(ids, subscription));
+        emitter.onError(e -> unsubscribe(ids, subscription));
+        // Registered before anything is sent, but pushes wait for the lock and then see the versions sent here,
+        // so whatever changed after these snapshots still reaches the client as a delta
+        subscription.lock.lock();
+        try {
+            for (Long flightId : ids) {
+                subscribers.computeIfAbsent(flightId, id -> ConcurrentHashMap.newKeySet()).add(subscription);
+            }
+            for (SeatMapDTO seatMap : initial.values()) {
+                emitter.send(event(seatMap, toJson(seatMap)));
+                subscription.sentVersions.put(seatMap.getFlightId(), seatMap.getVersion());
+            }
+        } catch (IOException e) {
+            unsubscribe(ids, subscription);
+            emitter.completeWithError(e);
+            return emitter;
+        } finally {
+            subscription.lock.unlock();
+        }
+        logger.debug("Opened availability stream for flights {}", ids);
+        return emitter;
+    }
+
+    // Hand every subscribed flight to a writer to send its changes, then keep idle streams open with a comment
+    @Scheduled(fixedDelayString = "${flight.availability.push-interval-ms:500}")
+    public void push() {
+        for (Long flightId : subscribers.keySet()) {
+            if (pushing.add(flightId) && !submit(() -> {
+                try {
+                    pushChanges(flightId);
+                } finally {
+                    pushing.remove(flightId);
+                }
+            })) {
+                pushing.remove(flightId);
+            }
+        }
+        long now = System.nanoTime();
+        if (now - lastHeartbeat >= heartbeat.toNanos()) {
+            lastHeartbeat = now;
+            Set<Subscription> open = new HashSet<>();
+            subscribers.values().forEach(open::addAll);
+            Set<ResponseBodyEmitter.DataWithMediaType> keepAlive = SseEmitter.event().comment("keep-alive").build();
+            submit(() -> open.forEach(subscription -> send(subscription, keepAlive)));
+        }
+    }
+
+    // Number of streams currently following a flight
+    public int subscriberCount(Long flightId) {
+        Set<Subscription> subscriptions = subscribers.get(flightId);
+        return subscriptions != null ? subscriptions.size() : 0;
+    }
+
+    // False once the writers are shut down
+    private boolean submit(Runnable task) {
+        try {
+            writers.execute(task);
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    private void pushChanges(Long flightId) {
+        Set<Subscription> subscriptions = subscribers.get(flightId);
+        if (subscriptions == null) {
+            return;
+        }
+        Optional<SeatMapDTO> current;
+        try {
+            current = seatMapSnapshots.find(flightId, null);
+        } catch (RuntimeException e) {
+            logger.warn("Could not refresh seat map of flight ID: {}; retrying on the next push: {}", flightId,
+                    e.getMessage());
+            return;
+        }
+        if (current.isEmpty()) {
+            // The flight was deleted; nothing more will ever be sent for it
+            logger.info("Closing availability streams of removed flight ID: {}", flightId);
+            subscribers.remove(flightId);
+            subscriptions.forEach(subscription -> subscription.emitter.complete());
+            return;
+        }
+        long version = current.get().getVersion();
+        // One serialized update per version subscribers are behind at; all of them normally share one
+        Map<Long, Update> updates = new HashMap<>();
+        int pushed = 0;
+        try {
+            for (Subscription subscription : subscriptions) {
+                subscription.lock.lock();
+                try {
+                    Long sent = subscription.sentVersions.get(flightId);
+                    if (sent == null || sent == version) {
+                        continue;
+                    }
+                    Update update = updates.computeIfAbsent(sent, since -> update(flightId, since));
+                    if (update == null) {
+                        return; // Deleted while pushing; the next push closes its streams
+                    }
+                    if (send(subscription, update.event)) {
+                        subscription.sentVersions.put(flightId, update.version);
+                        pushed++;
+                    }
+                } finally {
+                    subscription.lock.unlock();
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Could not build seat map update of flight ID: {}; retrying on the next push: {}", flightId,
+                    e.getMessage());
+        } finally {
+            if (pushed > 0) {
+                flightMetrics.availabilityPushed(pushed);
+            }
+        }
+    }
+
+    private Update update(Long flightId, long since) {
+        return seatMapSnapshots.find(flightId, since)
+                .map(seatMap -> new Update(seatMap.getVersion(), event(seatMap, toJson(seatMap)).build()))
+                .orElse(null);
+    }
+
+    // A client that went away fails the write; its completion callback then unsubscribes it
+    private boolean send(Subscription subscription, Set<ResponseBodyEmitter.DataWithMediaType> event) {
+        subscription.lock.lock();
+        try {
+            subscription.emitter.send(event);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            logger.debug("Dropping availability stream: {}", e.getMessage());
+            subscription.emitter.completeWithError(e);
+            return false;
+        } finally {
+            subscription.lock.unlock();
+        }
+    }
+
+    private void unsubscribe(Set<Long> flightIds, Subscription subscription) {
+        for (Long flightId : flightIds) {
+            subscribers.computeIfPresent(flightId, (id, subscriptions) -> {
+                subscriptions.remove(subscription);
+                return subscriptions.isEmpty() ? null : subscriptions;
+            });
+        }
+    }
+
+    // Serialized and framed once per update, then written verbatim to every subscriber
+    private String toJson(SeatMapDTO seatMap) {
+        try {
+            return objectMapper.writeValueAsString(seatMap);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static SseEmitter.SseEventBuilder event(SeatMapDTO seatMap, String json) {
+        return SseEmitter.event()
+                .name(SEAT_MAP_EVENT)
+                .id(seatMap.getFlightId() + ":" + seatMap.getVersion())
+                .data(json, MediaType.APPLICATION_JSON);
+    }
+
+    private record Update(long version, Set<ResponseBodyEmitter.DataWithMediaType> event) {
+    }
+
+    // One stream and the version of each of its flights it was last sent; writes to it hold its lock (not a
+    // monitor, so a virtual thread blocked on the socket does not pin its carrier)
+    private static final class Subscription {
+        private final SseEmitter emitter;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<Long, Long> sentVersions = new ConcurrentHashMap<>();
+
+        private Subscription(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.flight_service.service;
+
+import com.example.flight_service.repository.FlightRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Periodically recounts Flight.availableSeats from the seat map. Bookings move both in one row update, so
+// drift only comes from outside that path (manual SQL, restored backups, old rows). More often, it reloads
+// SeatAvailabilityIndex entries whose flight was written since they were loaded, which is how seats booked,
+// cancelled, held or released on other nodes reach this one. Each fix is counted in flight.availability.corrections.
+@Component
+public class AvailabilityReconciler {
+
+    private static final Logger logger = LoggerFactory.getLogger(AvailabilityReconciler.class);
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    @Autowired
+    private BookingExecutor bookingExecutor;
+
+    @Autowired
+    private FlightSearchIndex flightSearchIndex;
+
+    @Autowired
+    private SeatAvailabilityIndex seatAvailabilityIndex;
+
+    @Autowired
+    private FlightMetrics flightMetrics;
+
+    @Value("${flight.availability.seat-index-refresh-batch:500}")
+    private int refreshBatch = 500;
+
+    // Find drifted flights and recount each under its booking lock; returns the number corrected
+    @Scheduled(initialDelayString = "${flight.availability.reconcile-initial-delay-ms:60000}",
+            fixedDelayString = "${flight.availability.reconcile-ms:300000}")
+    public int reconcile() {
+        List<Long> drifted = flightRepository.findIdsWithAvailabilityDrift();
+        int corrected = 0;
+        for (Long flightId : drifted) {
+            try {
+                if (bookingExecutor.execute(flightId.intValue(), () -> recount(flightId))) {
+                    corrected++;
+                }
+            } catch (RuntimeException e) {
+                logger.warn("Could not reconcile seat counter of flight ID: {}: {}", flightId, e.getMessage());
+            }
+        }
+        if (corrected > 0) {
+            logger.warn("Corrected seat counters of {} flights", corrected);
+        }
+        return corrected;
+    }
+
+    // Reload the cached seat availability of flights written since it was loaded; returns the number that were stale
+    @Scheduled(initialDelayString = "${flight.availability.seat-index-refresh-ms:5000}",
+            fixedDelayString = "${flight.availability.seat-index-refresh-ms:5000}")
+    public int refreshSeatIndex() {
+        Map<Long, Long> loaded = seatAvailabilityIndex.loadedVersions();
+        List<Long> flightIds = new ArrayList<>(loaded.keySet());
+        int corrected = 0;
+        for (int from = 0; from < flightIds.size(); from += refreshBatch) {
+            List<Long> batch = flightIds.subList(from, Math.min(from + refreshBatch, flightIds.size()));
+            Map<Long, Long> current = new HashMap<>(batch.size() * 4 / 3 + 1);
+            flightRepository.findVersionsByIdIn(batch)
+                    .forEach(flight -> current.put(flight.getId(), flight.getVersion()));
+            for (Long flightId : batch) {
+                if (loaded.get(flightId).equals(current.get(flightId))) {
+                    continue;
+                }
+                boolean exists = current.containsKey(flightId);
+                try {
+                    if (bookingExecutor.execute(flightId.intValue(), () -> reload(flightId, exists))) {
+                        corrected++;
+                    }
+                } catch (RuntimeException e) {
+                    logger.warn("Could not refresh seat availability of flight ID: {}: {}", flightId, e.getMessage());
+                }
+            }
+        }
+        if (corrected > 0) {
+            logger.info("Reloaded stale seat availability of {} flights", corrected);
+        }
+        return corrected;
+    }
+
+    private boolean reload(Long flightId, boolean exists) {
+        if (!seatAvailabilityIndex.reload(flightId)) {
+            return false; // Only this node's own writes moved the version
+        }
+        if (exists) {
+            flightMetrics.seatsRemaining(flightId, seatAvailabilityIndex.availableSeats(flightId));
+        }
+        flightMetrics.availabilityCorrected();
+        return true;
+    }
+
+    private boolean recount(Long flightId) {
+        if (flightRepository.reconcileAvailableSeats(flightId) == 0) {
+            return false; // Fixed by a concurrent writer in the meantime
+        }
+        flightRepository.findById(flightId.intValue()).ifPresent(flight -> {
+            logger.info("Seat counter of flight ID: {} recounted to {}", flightId, flight.getAvailableSeats());
+            flightSearchIndex.upsert(FlightService.toFlightDTO(flight));
+        });
+        flightMetrics.availabilityCorrected();
+        return true;
+    }
+}
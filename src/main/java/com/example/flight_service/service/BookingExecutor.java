@@ -0,0 +1,91 @@
+package com.example.flight_service.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+// Runs seat mutations for one flight under that flight's own in-process lock, in its own transaction,
+// retrying when the optimistic version check on Flight/Seat detects a concurrent writer. Locks are weakly
+// held, so a flight nobody is booking costs nothing and two flights never contend.
+@Component
+public class BookingExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingExecutor.class);
+
+    private final LoadingCache<Integer, ReentrantLock> locks = Caffeine.newBuilder()
+            .weakValues()
+            .build(flightId -> new ReentrantLock());
+    private final int maxAttempts;
+    private final long lockTimeoutMillis;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private SeatAvailabilityIndex seatAvailabilityIndex;
+
+    @Autowired
+    private FlightMetrics flightMetrics;
+
+    public BookingExecutor(PlatformTransactionManager transactionManager,
+                           @Value("${flight.booking.max-attempts:5}") int maxAttempts,
+                           @Value("${flight.booking.lock-timeout-ms:250}") long lockTimeoutMillis) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = maxAttempts;
+        this.lockTimeoutMillis = lockTimeoutMillis;
+    }
+
+    // Execute the mutation, retrying on version conflicts and lock timeouts
+    public <T> T execute(Integer flightId, Supplier<T> mutation) {
+        ReentrantLock lock = locks.get(flightId);
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            if (!tryLock(lock)) {
+                logger.debug("Lock busy for flight ID: {} (attempt {}/{})", flightId, attempt, maxAttempts);
+                backOff(attempt);
+                continue;
+            }
+            try {
+                return transactionTemplate.execute(status -> mutation.get());
+            } catch (OptimisticLockingFailureException e) {
+                // Another node changed the flight; its seat state must be re-read before retrying
+                logger.info("Booking conflict on flight ID: {} (attempt {}/{})", flightId, attempt, maxAttempts);
+                seatAvailabilityIndex.evict(flightId.longValue());
+                flightMetrics.bookingConflict();
+            } finally {
+                lock.unlock();
+            }
+            backOff(attempt);
+        }
+        logger.warn("Giving up on flight ID: {} after {} attempts", flightId, maxAttempts);
+        throw new FlightRequestException("Flight is busy, please retry!");
+    }
+
+    private boolean tryLock(ReentrantLock lock) {
+        try {
+            return lock.tryLock(lockTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for booking lock", e);
+        }
+    }
+
+    // Jittered linear back-off so retrying writers do not collide again in lockstep
+    private void backOff(int attempt) {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(1, 5L * attempt + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while retrying booking", e);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.flight_service.service;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+// Routes every Spring Data repository call through the database guard, so that once MySQL is failing
+// callers get an immediate DependencyUnavailableException instead of each waiting out its own timeout
+@Aspect
+@Component
+public class DatabaseGuardAspect {
+
+    @Autowired
+    @Qualifier("databaseGuard")
+    private DependencyGuard databaseGuard;
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object guard(ProceedingJoinPoint joinPoint) throws Throwable {
+        return databaseGuard.call(joinPoint::proceed);
+    }
+}
@@ -0,0 +1,214 @@
+package com.example.flight_service.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+// Bulkhead plus circuit breaker for one downstream dependency. At most maxConcurrent calls run at once and a
+// caller waits at most maxWait for a slot; when failureRate percent of the last window calls failed, the
+// circuit opens and calls are refused outright for openFor, after which a single probe decides whether it
+// closes again. Both refusals throw DependencyUnavailableException without touching the dependency.
+// Exported as flight.dependency.*{dependency}. While the circuit is closed, calls only touch atomics; the
+// lock is taken to open it, to admit the probe and to close it again.
+public class DependencyGuard {
+
+    private static final Logger logger = LoggerFactory.getLogger(DependencyGuard.class);
+
+    public enum State { CLOSED, HALF_OPEN, OPEN }
+
+    @FunctionalInterface
+    public interface Call<T, E extends Throwable> {
+        T run() throws E;
+    }
+
+    private final String name;
+    private final Semaphore slots;
+    private final int maxConcurrent;
+    private final long maxWaitNanos;
+    private final Predicate<Throwable> isFailure;
+    private final int failureRate;
+    private final long openForNanos;
+    private final MeterRegistry meterRegistry;
+    private final AtomicInteger active = new AtomicInteger();
+
+    // Outcomes of the last window calls as a ring buffer (1 failed, 0 succeeded); failures is kept equal to
+    // their sum by adding the difference each slot overwrite makes
+    private final AtomicIntegerArray outcomes;
+    private final AtomicLong recorded = new AtomicLong();
+    private final AtomicInteger failures = new AtomicInteger();
+
+    // Changed under this; openedAt is written before the state that makes it meaningful
+    private volatile State state = State.CLOSED;
+    private volatile long openedAt;
+    private boolean probing;
+
+    // maxConcurrent <= 0 disables the bulkhead; a predicate that never matches disables the breaker
+    public DependencyGuard(String name, int maxConcurrent, Duration maxWait, Predicate<Throwable> isFailure,
+                           int window, int failureRate, Duration openFor, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.slots = maxConcurrent > 0 ? new Semaphore(maxConcurrent) : null;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.isFailure = isFailure;
+        this.outcomes = new AtomicIntegerArray(window);
+        this.failureRate = failureRate;
+        this.openForNanos = openFor.toNanos();
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("flight.dependency.active", active, AtomicInteger::get)
+                .tag("dependency", name)
+                .register(meterRegistry);
+        if (maxConcurrent > 0) {
+            Gauge.builder("flight.dependency.saturation", active, a -> a.get() / (double) maxConcurrent)
+                    .tag("dependency", name)
+                    .register(meterRegistry);
+        }
+        Gauge.builder("flight.dependency.circuit.state", this, guard -> guard.state().ordinal())
+                .tag("dependency", name)
+                .description("0 closed, 1 half-open, 2 open")
+                .register(meterRegistry);
+    }
+
+    // Run the call inside the bulkhead and circuit breaker
+    public <T, E extends Throwable> T call(Call<T, E> call) throws E {
+        boolean probe = admit();
+        if (!acquireSlot()) {
+            release(probe);
+            reject("bulkhead");
+            throw new DependencyUnavailableException(name + " is saturated");
+        }
+        active.incrementAndGet();
+        try {
+            T result = call.run();
+            record(probe, false);
+            return result;
+        } catch (Throwable e) {
+            record(probe, isFailure.test(e));
+            throw e;
+        } finally {
+            active.decrementAndGet();
+            if (slots != null) {
+                slots.release();
+            }
+        }
+    }
+
+    // Whether calls are currently being refused without trying the dependency
+    public boolean isOpen() {
+        return state() == State.OPEN;
+    }
+
+    public State state() {
+        State current = state;
+        if (current == State.OPEN && System.nanoTime() - openedAt >= openForNanos) {
+            return State.HALF_OPEN;
+        }
+        return current;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    // True when this call is the half-open probe
+    private boolean admit() {
+        if (state == State.CLOSED) {
+            return false;
+        }
+        return admitWhileOpen();
+    }
+
+    private synchronized boolean admitWhileOpen() {
+        State current = state();
+        if (current == State.CLOSED) {
+            return false;
+        }
+        if (current == State.HALF_OPEN && !probing) {
+            state = State.HALF_OPEN;
+            probing = true;
+            return true;
+        }
+        reject("circuit_open");
+        throw new DependencyUnavailableException(name + " is unavailable");
+    }
+
+    private void release(boolean probe) {
+        if (probe) {
+            synchronized (this) {
+                probing = false;
+            }
+        }
+    }
+
+    private boolean acquireSlot() {
+        if (slots == null) {
+            return true;
+        }
+        try {
+            return slots.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void record(boolean probe, boolean failed) {
+        if (failed) {
+            meterRegistry.counter("flight.dependency.failures", "dependency", name).increment();
+        }
+        if (probe) {
+            recordProbe(failed);
+            return;
+        }
+        if (state != State.CLOSED) {
+            return; // A call admitted before the circuit opened; the probe decides
+        }
+        int window = outcomes.length();
+        long call = recorded.getAndIncrement();
+        int outcome = failed ? 1 : 0;
+        int failing = failures.addAndGet(outcome - outcomes.getAndSet((int) (call % window), outcome));
+        if (call + 1 >= window && failing * 100 >= failureRate * window) {
+            trip();
+        }
+    }
+
+    private synchronized void recordProbe(boolean failed) {
+        probing = false;
+        if (failed) {
+            open();
+            return;
+        }
+        logger.info("Circuit for {} closed again", name);
+        // Cleared slot by slot so the failure count still matches the slots if a straggler records meanwhile
+        for (int i = 0; i < outcomes.length(); i++) {
+            failures.addAndGet(-outcomes.getAndSet(i, 0));
+        }
+        recorded.set(0);
+        state = State.CLOSED;
+    }
+
+    // Several calls can cross the threshold at once; only the first opens the circuit
+    private synchronized void trip() {
+        if (state == State.CLOSED) {
+            open();
+        }
+    }
+
+    private void open() {
+        logger.warn("Circuit for {} opened; refusing calls for {} ms", name, openForNanos / 1_000_000);
+        openedAt = System.nanoTime();
+        state = State.OPEN;
+    }
+
+    private void reject(String reason) {
+        meterRegistry.counter("flight.dependency.rejected", "dependency", name, "reason", reason).increment();
+    }
+}
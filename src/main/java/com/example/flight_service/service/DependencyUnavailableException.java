@@ -0,0 +1,9 @@
+package com.example.flight_service.service;
+
+// A call refused by a DependencyGuard because the dependency is saturated or its circuit is open
+public class DependencyUnavailableException extends RuntimeException {
+
+    public DependencyUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.flight_service.service;
+
+import com.example.flight_service.dto.FlightEventDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+// Appends events to a file as NDJSON, one event per line, for a log shipper or a downstream batch job
+public class FileFlightEventSink implements FlightEventSink {
+
+    private final Path file;
+    private final ObjectMapper objectMapper;
+
+    public FileFlightEventSink(Path file, ObjectMapper objectMapper) {
+        this.file = file;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public synchronized void publish(List<FlightEventDTO> events) {
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (FlightEventDTO event : events) {
+                writer.write(objectMapper.writeValueAsString(event));
+                writer.write('\n');
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not append flight events to " + file, e);
+        }
+    }
+}
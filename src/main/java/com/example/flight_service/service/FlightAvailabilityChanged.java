@@ -0,0 +1,5 @@
+package com.example.flight_service.service;
+
+// Published after a flight's seats or schedule changed on this node; listeners run once the change is committed
+public record FlightAvailabilityChanged(Long flightId) {
+}
@@ -0,0 +1,89 @@
+package com.example.flight_service.service;
+
+import com.example.flight_service.dto.FlightDTO;
+import com.example.flight_service.entity.FlightEventType;
+import com.example.flight_service.entity.OutboxEvent;
+import com.example.flight_service.entity.SeatStatus;
+import com.example.flight_service.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+// Appends flight and seat changes to outbox_events inside the transaction that makes them, so an event is
+// stored exactly when its change commits; OutboxRelay publishes the rows. Off unless flight.outbox.enabled=true.
+@Component
+public class FlightEventOutbox {
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${flight.outbox.enabled:false}")
+    private boolean enabled;
+
+    // A flight was added, updated or deleted; the payload is its schedule row
+    public void flightChanged(FlightEventType type, FlightDTO flight) {
+        append(flight.getId(), type, flight);
+    }
+
+    // Several flights were added at once, e.g. one batch of a schedule import; one event each
+    public void flightsAdded(Collection<FlightDTO> flights) {
+        if (!enabled) {
+            return;
+        }
+        requireTransaction();
+        LocalDateTime now = LocalDateTime.now();
+        outboxEventRepository.saveAll(flights.stream()
+                .map(flight -> event(flight.getId(), FlightEventType.FLIGHT_ADDED, flight, now))
+                .toList());
+    }
+
+    // Seats of a flight moved to status: BOOKED, RESERVED, or back to AVAILABLE
+    public void seatsChanged(Long flightId, Collection<String> seatNumbers, SeatStatus status) {
+        append(flightId, FlightEventType.SEATS_CHANGED, new SeatChange(List.copyOf(seatNumbers), status));
+    }
+
+    private void append(Long flightId, FlightEventType type, Object payload) {
+        if (!enabled) {
+            return;
+        }
+        requireTransaction();
+        outboxEventRepository.save(event(flightId, type, payload, LocalDateTime.now()));
+    }
+
+    private OutboxEvent event(Long flightId, FlightEventType type, Object payload, LocalDateTime createdAt) {
+        return OutboxEvent.builder()
+                .flightId(flightId)
+                .type(type)
+                .payload(toJson(payload))
+                .createdAt(createdAt)
+                .build();
+    }
+
+    private static void requireTransaction() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Outbox events must be written in the transaction of their change");
+        }
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public record SeatChange(List<String> seatNumbers, SeatStatus status) {
+    }
+}
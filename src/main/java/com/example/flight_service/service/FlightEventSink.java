@@ -0,0 +1,12 @@
+package com.example.flight_service.service;
+
+import com.example.flight_service.dto.FlightEventDTO;
+
+import java.util.List;
+
+// Destination of relayed flight events. A batch counts as delivered only if publish returns; throwing leaves
+// it in the outbox for the next relay run
+public interface FlightEventSink {
+
+    void publish(List<FlightEventDTO> events);
+}
@@ -0,0 +1,25 @@
+package com.example.flight_service.service;
+
+import com.example.flight_service.dto.FlightImportSummaryDTO;
+
+// An import that stopped part way; carries what was committed before it stopped. rejected means a row
+// was bad (400), otherwise a batch failed to save (500)
+public class FlightImportException extends RuntimeException {
+
+    private final FlightImportSummaryDTO summary;
+    private final boolean rejected;
+
+    public FlightImportException(FlightImportSummaryDTO summary, boolean rejected, Throwable cause) {
+        super(summary.getError(), cause);
+        this.summary = summary;
+        this.rejected = rejected;
+    }
+
+    public FlightImportSummaryDTO getSummary() {
+        return summary;
+    }
+
+    public boolean isRejected() {
+        return rejected;
+    }
+}
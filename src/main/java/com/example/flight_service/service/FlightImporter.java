@@ -0,0 +1,122 @@
+package com.example.flight_service.service;
+
+import com.example.flight_service.dto.FlightDTO;
+import com.example.flight_service.dto.FlightImportSummaryDTO;
+import com.example.flight_service.entity.Flight;
+import com.example.flight_service.repository.FlightRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+// Loads flights in transactions of batchSize rows. Pooled sequence ids let Hibernate defer the inserts
+// to commit and send them as JDBC batches of hibernate.jdbc.batch_size; each transaction commits on its own,
+// together with a FLIGHT_ADDED outbox event per flight it added.
+@Component
+public class FlightImporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(FlightImporter.class);
+
+    private final int batchSize;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    @Autowired
+    private FlightSearchIndex flightSearchIndex;
+
+    @Autowired
+    private FlightEventOutbox flightEventOutbox;
+
+    @Autowired
+    private SeatAvailabilityIndex seatAvailabilityIndex;
+
+    public FlightImporter(PlatformTransactionManager transactionManager,
+                          @Value("${flight.import.batch-size:500}") int batchSize) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    // Import every flight; on a bad or unreadable row, the batches before it stay committed and the error says how many
+    public FlightImportSummaryDTO importFlights(Iterator<Flight> flights) {
+        long start = System.nanoTime();
+        List<Flight> batch = new ArrayList<>(batchSize);
+        int imported = 0;
+        int batches = 0;
+        while (flights.hasNext()) {
+            Flight flight;
+            try {
+                flight = flights.next();
+                validate(flight);
+            } catch (RuntimeException e) {
+                throw new FlightImportException(summary(start, imported, batches, "Flight #"
+                        + (imported + batch.size() + 1) + " rejected after importing " + imported
+                        + " flights: " + e.getMessage()), true, e);
+            }
+            batch.add(flight);
+            if (batch.size() == batchSize) {
+                imported += save(batch, start, imported, batches);
+                batches++;
+            }
+        }
+        if (!batch.isEmpty()) {
+            imported += save(batch, start, imported, batches);
+            batches++;
+        }
+        FlightImportSummaryDTO summary = summary(start, imported, batches, null);
+        logger.info("Imported {} flights in {} batches, {} ms ({} rows/s)",
+                imported, batches, summary.getElapsedMillis(), Math.round(summary.getRowsPerSecond()));
+        return summary;
+    }
+
+    private static FlightImportSummaryDTO summary(long start, int imported, int batches, String error) {
+        long elapsedNanos = System.nanoTime() - start;
+        return FlightImportSummaryDTO.builder()
+                .imported(imported)
+                .batches(batches)
+                .elapsedMillis(elapsedNanos / 1_000_000)
+                .rowsPerSecond(elapsedNanos > 0 ? imported * 1_000_000_000.0 / elapsedNanos : 0)
+                .error(error)
+                .build();
+    }
+
+    // Same rules as a single addFlight; ids always come from the sequence
+    private void validate(Flight flight) {
+        if (flight == null) {
+            throw new FlightRequestException("Flight is empty");
+        }
+        if (flight.getTotalSeats() < 0 || flight.getTotalSeats() > Flight.MAX_SEATS) {
+            throw new FlightRequestException("Total seats must be between 0 and " + Flight.MAX_SEATS);
+        }
+        flight.setId(null);
+        flight.setSeats(new ArrayList<>());
+    }
+
+    private int save(List<Flight> batch, long start, int imported, int batches) {
+        int size = batch.size();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                flightRepository.saveAll(batch);
+                List<FlightDTO> added = batch.stream().map(FlightService::toFlightDTO).toList();
+                added.forEach(flightSearchIndex::upsert);
+                added.forEach(flight -> seatAvailabilityIndex.evictAfterCompletion(flight.getId()));
+                flightEventOutbox.flightsAdded(added);
+            });
+        } catch (DataAccessException e) {
+            throw new FlightImportException(summary(start, imported, batches, "Flights #" + (imported + 1)
+                    + " to #" + (imported + size) + " failed to save after importing " + imported
+                    + " flights: " + e.getMessage()), false, e);
+        }
+        batch.clear();
+        return size;
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.flight_service.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Booking outcome counters and per-flight seats-remaining gauges
+@Component
+public class FlightMetrics {
+
+    public static final String BOOKINGS = "flight.bookings";
+    public static final String BOOKING_CONFLICTS = "flight.booking.conflicts";
+    public static final String SEATS_REMAINING = "flight.seats.remaining";
+    public static final String IDEMPOTENT_REPLAYS = "flight.idempotent.replays";
+    public static final String AVAILABILITY_CORRECTIONS = "flight.availability.corrections";
+    public static final String AVAILABILITY_PUSHES = "flight.availability.pushes";
+    public static final String OUTBOX_PUBLISHED = "flight.outbox.published";
+
+    private final Map<Long, AtomicInteger> seatsRemaining = new ConcurrentHashMap<>();
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // A booking or cancellation that committed
+    public void bookingSucceeded(String operation, int seats) {
+        meterRegistry.counter(BOOKINGS, "operation", operation, "outcome", "success").increment(seats);
+    }
+
+    // A booking or cancellation rejected (sold out, unknown seat) or abandoned after retries
+    public void bookingFailed(String operation) {
+        meterRegistry.counter(BOOKINGS, "operation", operation, "outcome", "failure").increment();
+    }
+
+    // A version conflict that sent a booking attempt back for a retry
+    public void bookingConflict() {
+        meterRegistry.counter(BOOKING_CONFLICTS).increment();
+    }
+
+    // A retried request answered from the idempotency store instead of being run again
+    public void idempotentReplay() {
+        meterRegistry.counter(IDEMPOTENT_REPLAYS).increment();
+    }
+
+    // A flight whose stored seat counter, or this node's cached seat availability, had drifted from its seat map
+    // and was corrected
+    public void availabilityCorrected() {
+        meterRegistry.counter(AVAILABILITY_CORRECTIONS).increment();
+    }
+
+    // One coalesced seat map update sent to every stream subscribed to a flight
+    public void availabilityPushed(int subscribers) {
+        meterRegistry.counter(AVAILABILITY_PUSHES).increment(subscribers);
+    }
+
+    // Outbox events accepted by the event sink
+    public void outboxPublished(int events) {
+        meterRegistry.counter(OUTBOX_PUBLISHED).increment(events);
+    }
+
+    // Publish the remaining seats of a flight; its gauge is registered the first time it is booked
+    public void seatsRemaining(Long flightId, int available) {
+        seatsRemaining.computeIfAbsent(flightId, id -> {
+            AtomicInteger value = new AtomicInteger();
+            Gauge.builder(SEATS_REMAINING, value, AtomicInteger::get)
+                    .tag("flightId", String.valueOf(id))
+                    .register(meterRegistry);
+            return value;
+        }).set(available);
+    }
+
+    // Drop the gauge of a deleted flight
+    public void removeFlight(Long flightId) {
+        if (seatsRemaining.remove(flightId) != null) {
+            meterRegistry.find(SEATS_REMAINING).tag("flightId", String.valueOf(flightId)).meters()
+                    .forEach(meterRegistry::remove);
+        }
+    }
+}
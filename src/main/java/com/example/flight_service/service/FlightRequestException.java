@@ -0,0 +1,14 @@
+package com.example.flight_service.service;
+
+// A request the service turns down as asked (unknown flight or hold, no seats left, invalid input); answered
+// with 400 or 404, unlike infrastructure failures and DependencyUnavailableException
+public class FlightRequestException extends RuntimeException {
+
+    public FlightRequestException(String message) {
+        super(message);
+    }
+
+    public FlightRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
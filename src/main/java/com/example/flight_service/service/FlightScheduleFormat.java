@@ -0,0 +1,266 @@
+package com.example.flight_service.service;
+
+import com.example.flight_service.dto.FlightScheduleDTO;
+import com.example.flight_service.entity.Flight;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+// CSV and NDJSON codecs for the flight schedule. Readers are lazy iterators that parse one row per next(),
+// so an import never holds more than the importer's current batch in memory.
+@Component
+public class FlightScheduleFormat {
+
+    public static final String CSV = "text/csv";
+
+    // Export column order; imports match columns by header name and ignore id and availableSeats
+    static final List<String> COLUMNS = List.of("id", "airline", "departure", "destination", "departureTime",
+            "arrivalTime", "totalSeats", "availableSeats", "price");
+    private static final List<String> REQUIRED = List.of("airline", "departure", "destination", "departureTime",
+            "totalSeats", "price");
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // One flight per NDJSON line
+    public Iterator<Flight> readNdjson(InputStream in) {
+        try {
+            MappingIterator<FlightScheduleDTO> rows = objectMapper.readerFor(FlightScheduleDTO.class).readValues(in);
+            return new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return rows.hasNext();
+                }
+
+                @Override
+                public Flight next() {
+                    return toFlight(rows.next());
+                }
+            };
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // One flight per CSV line after the header; quoted fields may contain commas and "" but not line breaks
+    public Iterator<Flight> readCsv(InputStream in) {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        Map<String, Integer> header = readHeader(reader);
+        return new Iterator<>() {
+            private int lineNumber = 1;
+            private String line = nextLine();
+
+            @Override
+            public boolean hasNext() {
+                return line != null;
+            }
+
+            @Override
+            public Flight next() {
+                if (line == null) {
+                    throw new NoSuchElementException();
+                }
+                try {
+                    return toFlight(header, splitCsv(line));
+                } catch (RuntimeException e) {
+                    throw new FlightRequestException("Line " + lineNumber + ": " + e.getMessage(), e);
+                } finally {
+                    line = nextLine();
+                }
+            }
+
+            private String nextLine() {
+                try {
+                    String next;
+                    do {
+                        next = reader.readLine();
+                        lineNumber++;
+                    } while (next != null && next.isBlank());
+                    return next;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+    }
+
+    public void writeCsvHeader(Writer out) throws IOException {
+        out.write(String.join(",", COLUMNS));
+        out.write('\n');
+    }
+
+    public void writeCsv(FlightScheduleDTO row, Writer out) throws IOException {
+        out.write(String.valueOf(row.getId()));
+        out.write(',');
+        out.write(quote(row.getAirline()));
+        out.write(',');
+        out.write(quote(row.getDeparture()));
+        out.write(',');
+        out.write(quote(row.getDestination()));
+        out.write(',');
+        out.write(row.getDepartureTime() != null ? row.getDepartureTime().toString() : "");
+        out.write(',');
+        out.write(row.getArrivalTime() != null ? row.getArrivalTime().toString() : "");
+        out.write(',');
+        out.write(Integer.toString(row.getTotalSeats()));
+        out.write(',');
+        out.write(Integer.toString(row.getAvailableSeats()));
+        out.write(',');
+        out.write(Double.toString(row.getPrice()));
+        out.write('\n');
+    }
+
+    private Map<String, Integer> readHeader(BufferedReader reader) {
+        String line;
+        try {
+            line = reader.readLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (line == null) {
+            throw new FlightRequestException("CSV header is missing");
+        }
+        if (line.startsWith("\uFEFF")) {
+            line = line.substring(1); // Byte order mark from spreadsheet exports
+        }
+        Map<String, Integer> header = new HashMap<>();
+        List<String> names = splitCsv(line);
+        for (int i = 0; i < names.size(); i++) {
+            header.put(names.get(i).trim(), i);
+        }
+        for (String column : REQUIRED) {
+            if (!header.containsKey(column)) {
+                throw new FlightRequestException("CSV header is missing column: " + column);
+            }
+        }
+        return header;
+    }
+
+    private static Flight toFlight(FlightScheduleDTO row) {
+        return Flight.builder()
+                .airline(row.getAirline())
+                .departure(row.getDeparture())
+                .destination(row.getDestination())
+                .departureTime(row.getDepartureTime())
+                .arrivalTime(row.getArrivalTime())
+                .totalSeats(row.getTotalSeats())
+                .price(row.getPrice())
+                .seats(new ArrayList<>())
+                .build();
+    }
+
+    private static Flight toFlight(Map<String, Integer> header, List<String> fields) {
+        return Flight.builder()
+                .airline(field(header, fields, "airline"))
+                .departure(field(header, fields, "departure"))
+                .destination(field(header, fields, "destination"))
+                .departureTime(parseTime(field(header, fields, "departureTime"), "departureTime"))
+                .arrivalTime(parseTime(field(header, fields, "arrivalTime"), "arrivalTime"))
+                .totalSeats(parseSeats(field(header, fields, "totalSeats")))
+                .price(parseNumber(field(header, fields, "price"), "price"))
+                .seats(new ArrayList<>())
+                .build();
+    }
+
+    // Empty and absent fields are both null
+    private static String field(Map<String, Integer> header, List<String> fields, String column) {
+        Integer index = header.get(column);
+        if (index == null || index >= fields.size() || fields.get(index).isEmpty()) {
+            return null;
+        }
+        return fields.get(index);
+    }
+
+    private static LocalDateTime parseTime(String value, String column) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            throw new FlightRequestException("Invalid " + column + ": " + value);
+        }
+    }
+
+    private static int parseSeats(String value) {
+        if (value == null) {
+            throw new FlightRequestException("Missing totalSeats");
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new FlightRequestException("Invalid totalSeats: " + value);
+        }
+    }
+
+    private static double parseNumber(String value, String column) {
+        if (value == null) {
+            throw new FlightRequestException("Missing " + column);
+        }
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            throw new FlightRequestException("Invalid " + column + ": " + value);
+        }
+    }
+
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new FlightRequestException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    // Line breaks become spaces so every exported row stays on one line and can be imported again
+    static String quote(String value) {
+        if (value == null) {
+            return "";
+        }
+        value = value.replace('\r', ' ').replace('\n', ' ');
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
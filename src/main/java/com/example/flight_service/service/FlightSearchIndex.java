@@ -0,0 +1,242 @@
+package com.example.flight_service.service;
+
+import com.example.flight_service.dto.FlightDTO;
+import com.example.flight_service.repository.FlightRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+// Optional in-process copy of the schedule: route -> flights sorted by (departure time, id), answering
+// route searches without a database round trip. Disabled by default; falls back to MySQL when not ready.
+// Single node only: it is loaded once at startup and then follows only this instance's own writes, so flights
+// added, booked or imported through another instance never reach it. Do not enable it behind a load balancer.
+@Component
+public class FlightSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(FlightSearchIndex.class);
+
+    private static final Comparator<IndexedFlight> DEPARTURE_ORDER =
+            Comparator.comparingLong((IndexedFlight f) -> f.departureEpoch).thenComparingLong(f -> f.id);
+
+    private final boolean enabled;
+    private final int maxFlights;
+
+    private final Map<Route, NavigableSet<IndexedFlight>> routes = new ConcurrentHashMap<>();
+    private final Map<Long, IndexedFlight> flightsById = new ConcurrentHashMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private volatile boolean ready;
+    private volatile boolean overCapacity;
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    public FlightSearchIndex(@Value("${flight.search.in-memory.enabled:false}") boolean enabled,
+                             @Value("${flight.search.in-memory.max-flights:200000}") int maxFlights) {
+        this.enabled = enabled;
+        this.maxFlights = maxFlights;
+    }
+
+    // Whether searches can be answered from memory
+    public boolean isReady() {
+        return ready;
+    }
+
+    // Build the index from the flights table once the application is up
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            try (Stream<FlightDTO> flights = flightRepository.streamAllFlightDTOs()) {
+                flights.forEach(this::put);
+            }
+        });
+        if (!overCapacity) {
+            ready = true;
+            logger.info("Flight search index ready with {} flights on {} routes in {} ms",
+                    size.get(), routes.size(), (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    // Matching flights ordered by (departureTime, id), strictly after the keyset position, at most limit of them
+    public List<FlightDTO> search(String departure, String destination, LocalDateTime from, LocalDateTime to,
+                                  int minSeats, double maxPrice, LocalDateTime afterTime, long afterId, int limit) {
+        NavigableSet<IndexedFlight> flights = routes.get(new Route(departure, destination));
+        if (flights == null) {
+            return List.of();
+        }
+        long toEpoch = toEpoch(to);
+        long fromEpoch = toEpoch(from);
+        List<FlightDTO> matches = new ArrayList<>(Math.min(limit, 64));
+        for (IndexedFlight flight : flights.tailSet(IndexedFlight.probe(toEpoch(afterTime), afterId), false)) {
+            if (flight.departureEpoch >= toEpoch || matches.size() == limit) {
+                break;
+            }
+            if (flight.departureEpoch >= fromEpoch && flight.availableSeats >= minSeats && flight.price <= maxPrice) {
+                matches.add(flight.toDTO());
+            }
+        }
+        return matches;
+    }
+
+    // Insert or replace a flight once the surrounding transaction commits
+    public void upsert(FlightDTO flight) {
+        afterCommit(() -> put(flight));
+    }
+
+    // Remove a flight once the surrounding transaction commits
+    public void remove(Long flightId) {
+        afterCommit(() -> drop(flightId));
+    }
+
+    // Apply a seat counter change once the surrounding transaction commits
+    public void adjustAvailableSeats(Long flightId, int delta) {
+        afterCommit(() -> {
+            IndexedFlight flight = flightsById.get(flightId);
+            if (flight != null) {
+                flight.addSeats(delta);
+            }
+        });
+    }
+
+    private void put(FlightDTO dto) {
+        if (!enabled || overCapacity) {
+            return;
+        }
+        if (dto.getDeparture() == null || dto.getDestination() == null || dto.getDepartureTime() == null) {
+            drop(dto.getId()); // Unsearchable by route and time now, so its old entry must not match either
+            return;
+        }
+        if (!flightsById.containsKey(dto.getId()) && size.get() >= maxFlights) {
+            shutDown();
+            return;
+        }
+        flightsById.compute(dto.getId(), (id, previous) -> {
+            if (previous != null) {
+                routes.get(previous.route).remove(previous);
+            } else {
+                size.incrementAndGet();
+            }
+            IndexedFlight flight = IndexedFlight.of(dto);
+            routes.computeIfAbsent(flight.route, route -> new ConcurrentSkipListSet<>(DEPARTURE_ORDER)).add(flight);
+            return flight;
+        });
+    }
+
+    private void drop(Long flightId) {
+        IndexedFlight removed = flightsById.remove(flightId);
+        if (removed != null) {
+            routes.get(removed.route).remove(removed);
+            size.decrementAndGet();
+        }
+    }
+
+    // Over the memory cap: free everything and send searches back to the database
+    private void shutDown() {
+        overCapacity = true;
+        ready = false;
+        routes.clear();
+        flightsById.clear();
+        size.set(0);
+        logger.warn("Flight search index exceeded {} flights; falling back to database search", maxFlights);
+    }
+
+    private void afterCommit(Runnable change) {
+        if (!enabled) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+
+    // Microseconds since the epoch: as precise as a MySQL DATETIME(6) and still a single long
+    private static long toEpoch(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + time.getNano() / 1_000;
+    }
+
+    private static LocalDateTime fromEpoch(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000),
+                (int) Math.floorMod(micros, 1_000_000) * 1_000, ZoneOffset.UTC);
+    }
+
+    private record Route(String departure, String destination) {
+    }
+
+    // Compact entry: times as epoch microseconds, route shared with every other flight on it
+    private static final class IndexedFlight {
+        private static final long NO_TIME = Long.MIN_VALUE;
+
+        private final long id;
+        private final Route route;
+        private final String airline;
+        private final long departureEpoch;
+        private final long arrivalEpoch;
+        private final double price;
+        private volatile int availableSeats;
+
+        private IndexedFlight(long id, Route route, String airline, long departureEpoch, long arrivalEpoch,
+                              double price, int availableSeats) {
+            this.id = id;
+            this.route = route;
+            this.airline = airline;
+            this.departureEpoch = departureEpoch;
+            this.arrivalEpoch = arrivalEpoch;
+            this.price = price;
+            this.availableSeats = availableSeats;
+        }
+
+        static IndexedFlight of(FlightDTO dto) {
+            return new IndexedFlight(dto.getId(), new Route(dto.getDeparture(), dto.getDestination()), dto.getAirline(),
+                    toEpoch(dto.getDepartureTime()),
+                    dto.getArrivalTime() != null ? toEpoch(dto.getArrivalTime()) : NO_TIME,
+                    dto.getPrice(), dto.getAvailableSeats());
+        }
+
+        static IndexedFlight probe(long departureEpoch, long id) {
+            return new IndexedFlight(id, null, null, departureEpoch, 0, 0, 0);
+        }
+
+        synchronized void addSeats(int delta) {
+            availableSeats += delta;
+        }
+
+        FlightDTO toDTO() {
+            return new FlightDTO(id, airline, route.departure(), route.destination(),
+                    fromEpoch(departureEpoch), arrivalEpoch != NO_TIME ? fromEpoch(arrivalEpoch) : null,
+                    availableSeats, price);
+        }
+    }
+}
@@ -1,34 +1,134 @@
 package com.example.flight_service.service;
 
+import com.example.flight_service.config.CacheConfig;
 import com.example.flight_service.dto.FlightDTO;
+import com.example.flight_service.dto.FlightImportSummaryDTO;
+import com.example.flight_service.dto.FlightPageDTO;
+import com.example.flight_service.dto.FlightScheduleDTO;
+import com.example.flight_service.dto.SeatHoldDTO;
+import com.example.flight_service.dto.SeatMapDTO;
+import com.example.flight_service.dto.FlightSearchCriteria;
 import com.example.flight_service.entity.Flight;
 import com.example.flight_service.entity.FlightDetails;
+import com.example.flight_service.entity.FlightEventType;
 import com.example.flight_service.entity.Seat;
 import com.example.flight_service.entity.SeatStatus;
 import com.example.flight_service.repository.FlightRepository;
+import com.example.flight_service.repository.SeatRepository;
+import io.micrometer.core.annotation.Timed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
+// Every public method is timed as flight.service{class,method}
 @Service
+@Timed("flight.service")
 public class FlightService {
 
     private static final Logger logger = LoggerFactory.getLogger(FlightService.class);
 
+    // Stand-ins for an open-ended search window that every database can store
+    private static final LocalDateTime SEARCH_WINDOW_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime SEARCH_WINDOW_END = LocalDateTime.of(9999, 12, 31, 0, 0);
+
     @Autowired
     private FlightRepository flightRepository;
 
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private SeatAvailabilityIndex seatAvailabilityIndex;
+
+    @Autowired
+    private BookingExecutor bookingExecutor;
+
+    @Autowired
+    private FlightSearchIndex flightSearchIndex;
+
+    @Autowired
+    private FlightMetrics flightMetrics;
+
+    @Autowired
+    private FlightImporter flightImporter;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private SeatMapSnapshots seatMapSnapshots;
+
+    @Autowired
+    private FlightEventOutbox flightEventOutbox;
+
+    @Value("${flight.booking.max-batch-size:9}")
+    private int maxBatchSize = 9;
+
+    @Value("${flight.booking.hold-ttl:10m}")
+    private Duration holdTtl = Duration.ofMinutes(10);
+
+    @Value("${flight.listing.max-page-size:500}")
+    private int maxPageSize = 500;
+
+    @Value("${flight.listing.publish-page-size:200}")
+    private int publishPageSize = 200;
+
     // Save a new flight
+    @Transactional
     public Flight addFlight(Flight flight) {
         logger.info("Adding new flight: {}", flight);
-        return flightRepository.save(flight);
+        if (flight.getTotalSeats() < 0 || flight.getTotalSeats() > Flight.MAX_SEATS) {
+            throw new FlightRequestException("Total seats must be between 0 and " + Flight.MAX_SEATS);
+        }
+        Flight savedFlight = flightRepository.save(flight);
+        FlightDTO dto = toFlightDTO(savedFlight);
+        flightSearchIndex.upsert(dto);
+        seatAvailabilityIndex.evictAfterCompletion(savedFlight.getId());
+        flightEventOutbox.flightChanged(FlightEventType.FLIGHT_ADDED, dto);
+        return savedFlight;
+    }
+
+    // Bulk-load flights in batched transactions, pulling them from the iterator one batch at a time
+    public FlightImportSummaryDTO importFlights(Iterator<Flight> flights) {
+        logger.info("Importing flights");
+        return flightImporter.importFlights(flights);
+    }
+
+    // Hand every flight's schedule row to the consumer as it is read from a database cursor
+    @Transactional(readOnly = true)
+    public void exportSchedule(Consumer<FlightScheduleDTO> consumer) {
+        logger.info("Exporting flight schedule");
+        try (Stream<FlightScheduleDTO> schedule = flightRepository.streamFlightSchedule()) {
+            schedule.forEach(consumer);
+        }
     }
 
     // Update existing flight details
+    @CacheEvict(cacheNames = CacheConfig.FLIGHT_DETAILS, key = "#id")
+    @Transactional
     public Flight updateFlight(Integer id, Flight flightDetails) {
         logger.info("Updating flight with ID: {}", id);
         return flightRepository.findById(id)
@@ -38,149 +138,500 @@ public class FlightService {
                     flight.setDestination(flightDetails.getDestination());
                     flight.setDepartureTime(flightDetails.getDepartureTime());
                     flight.setArrivalTime(flightDetails.getArrivalTime());
-                    flight.setAvailableSeats(flightDetails.getAvailableSeats());
+                    // availableSeats is derived from the seat map and is not editable
                     flight.setPrice(flightDetails.getPrice());
-                    return flightRepository.save(flight);
+                    Flight savedFlight = flightRepository.save(flight);
+                    FlightDTO dto = toFlightDTO(savedFlight);
+                    flightSearchIndex.upsert(dto);
+                    flightEventOutbox.flightChanged(FlightEventType.FLIGHT_UPDATED, dto);
+                    eventPublisher.publishEvent(new FlightAvailabilityChanged(savedFlight.getId()));
+                    return savedFlight;
                 })
                 .orElseThrow(() -> {
                     logger.warn("Flight not found with ID: {}", id);
-                    return new RuntimeException("Flight not found with ID: " + id);
+                    return new FlightRequestException("Flight not found with ID: " + id);
                 });
     }
 
     // Delete a flight by ID
+    @CacheEvict(cacheNames = CacheConfig.FLIGHT_DETAILS, key = "#id")
+    @Transactional
     public Flight deleteFlight(Integer id) {
         logger.info("Deleting flight with ID: {}", id);
         Flight flight = flightRepository.findById(id)
                 .orElseThrow(() -> {
                     logger.warn("Flight not found with ID: {}", id);
-                    return new RuntimeException("Flight not found with ID: " + id);
+                    return new FlightRequestException("Flight not found with ID: " + id);
                 });
         flightRepository.deleteById(id);
+        flightEventOutbox.flightChanged(FlightEventType.FLIGHT_DELETED, toFlightDTO(flight));
+        seatAvailabilityIndex.evict(flight.getId());
+        flightSearchIndex.remove(flight.getId());
+        flightMetrics.removeFlight(flight.getId());
+        seatMapSnapshots.remove(flight.getId());
         return flight;
     }
 
     // Get flights with available seats
     public List<FlightDTO> getAvailableFlights() {
         logger.debug("Fetching flights with available seats");
-        List<Flight> availableFlights = flightRepository.findByAvailableSeatsGreaterThan(0);
-        return availableFlights.stream()
-                .map(flight -> FlightDTO.builder()
-                        .id(flight.getId())
-                        .airline(flight.getAirline())
-                        .departure(flight.getDeparture())
-                        .destination(flight.getDestination())
-                        .departureTime(flight.getDepartureTime())
-                        .arrivalTime(flight.getArrivalTime())
-                        .availableSeats(flight.getAvailableSeats())
-                        .price(flight.getPrice())
-                        .build())
-                .toList();
+        return flightRepository.findAvailableFlightDTOs();
     }
 
     // Get all flights
     public List<FlightDTO> getAllFlights() {
         logger.debug("Fetching all flights");
-        List<Flight> allFlights = flightRepository.findAll();
-        return allFlights.stream()
-                .map(flight -> FlightDTO.builder()
-                        .id(flight.getId())
-                        .airline(flight.getAirline())
-                        .departure(flight.getDeparture())
-                        .destination(flight.getDestination())
-                        .departureTime(flight.getDepartureTime())
-                        .arrivalTime(flight.getArrivalTime())
-                        .availableSeats(flight.getAvailableSeats())
-                        .price(flight.getPrice())
-                        .build())
-                .toList();
-    }
-
-    // Check seat availability for a flight
+        return flightRepository.findAllFlightDTOs();
+    }
+
+    // Get one keyset page of flights with available seats
+    public FlightPageDTO getAvailableFlights(String cursor, int size) {
+        logger.debug("Fetching available flights page after cursor: {}", cursor);
+        int limit = pageSize(size);
+        return toPage(flightRepository.findAvailableFlightDTOPage(decodeCursor(cursor), Limit.of(limit + 1)), limit,
+                flight -> encodeCursor(String.valueOf(flight.getId())));
+    }
+
+    // Get one keyset page of all flights
+    public FlightPageDTO getAllFlights(String cursor, int size) {
+        logger.debug("Fetching all flights page after cursor: {}", cursor);
+        int limit = pageSize(size);
+        return toPage(flightRepository.findFlightDTOPage(decodeCursor(cursor), Limit.of(limit + 1)), limit,
+                flight -> encodeCursor(String.valueOf(flight.getId())));
+    }
+
+    // Search a route within a departure window, one keyset page at a time
+    public FlightPageDTO searchFlights(FlightSearchCriteria criteria, String cursor, int size) {
+        logger.debug("Searching flights {} -> {} after cursor: {}", criteria.getDeparture(), criteria.getDestination(), cursor);
+        int limit = pageSize(size);
+        LocalDateTime from = criteria.getFrom() != null ? criteria.getFrom() : SEARCH_WINDOW_START;
+        LocalDateTime to = criteria.getTo() != null ? criteria.getTo() : SEARCH_WINDOW_END;
+        if (!from.isBefore(to)) {
+            throw new FlightRequestException("Search window must end after it starts");
+        }
+        double maxPrice = criteria.getMaxPrice() != null ? criteria.getMaxPrice() : Double.MAX_VALUE;
+
+        // Without a cursor, (from, 0) makes the keyset predicate equivalent to departureTime >= from
+        LocalDateTime afterTime = from;
+        Long afterId = 0L;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] position = decodeCursorValue(cursor).split("\\|", 2);
+            try {
+                afterTime = LocalDateTime.parse(position[0]);
+                afterId = Long.parseLong(position[1]);
+            } catch (RuntimeException e) {
+                throw new FlightRequestException("Invalid page cursor", e);
+            }
+        }
+
+        List<FlightDTO> flights = flightSearchIndex.isReady()
+                ? flightSearchIndex.search(criteria.getDeparture(), criteria.getDestination(),
+                        from, to, criteria.getMinSeats(), maxPrice, afterTime, afterId, limit + 1)
+                : flightRepository.searchFlightDTOs(criteria.getDeparture(), criteria.getDestination(),
+                        from, to, criteria.getMinSeats(), maxPrice, afterTime, afterId, Limit.of(limit + 1));
+        return toPage(flights, limit, flight -> encodeCursor(flight.getDepartureTime() + "|" + flight.getId()));
+    }
+
+    // Hand flights to the consumer one by one as they are read from a database cursor
+    @Transactional(readOnly = true)
+    public void streamFlights(boolean availableOnly, Consumer<FlightDTO> consumer) {
+        logger.debug("Streaming {} flights", availableOnly ? "available" : "all");
+        try (Stream<FlightDTO> flights = availableOnly
+                ? flightRepository.streamAvailableFlightDTOs()
+                : flightRepository.streamAllFlightDTOs()) {
+            flights.forEach(consumer);
+        }
+    }
+
+    // Publish flights one keyset page per downstream demand; each page is read on a bounded-elastic worker and
+    // holds a connection only for that query, so a slow client stalls the stream, not a thread or a cursor
+    public Flux<FlightDTO> publishFlights(boolean availableOnly) {
+        logger.debug("Publishing {} flights", availableOnly ? "available" : "all");
+        return Flux.<List<FlightDTO>, Long>generate(() -> 0L, (afterId, sink) -> {
+                    if (afterId < 0) {
+                        sink.complete();
+                        return afterId;
+                    }
+                    List<FlightDTO> page = availableOnly
+                            ? flightRepository.findAvailableFlightDTOPage(afterId, Limit.of(publishPageSize))
+                            : flightRepository.findFlightDTOPage(afterId, Limit.of(publishPageSize));
+                    if (page.isEmpty()) {
+                        sink.complete();
+                        return afterId;
+                    }
+                    sink.next(page);
+                    // A short page is the last one: finish on the next demand without another query
+                    return page.size() < publishPageSize ? -1L : page.get(page.size() - 1).getId();
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .concatMapIterable(page -> page, 1);
+    }
+
+    private FlightPageDTO toPage(List<FlightDTO> flights, int limit, Function<FlightDTO, String> cursorOf) {
+        boolean hasMore = flights.size() > limit;
+        List<FlightDTO> page = hasMore ? flights.subList(0, limit) : flights;
+        String nextCursor = hasMore ? cursorOf.apply(page.get(page.size() - 1)) : null;
+        return new FlightPageDTO(page, nextCursor);
+    }
+
+    private int pageSize(int size) {
+        if (size < 1 || size > maxPageSize) {
+            throw new FlightRequestException("Page size must be between 1 and " + maxPageSize);
+        }
+        return size;
+    }
+
+    // Cursors are opaque to clients: the URL-safe Base64 of the keyset position they have reached
+    private static String encodeCursor(String position) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodeCursorValue(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new FlightRequestException("Invalid page cursor", e);
+        }
+    }
+
+    private static Long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(decodeCursorValue(cursor));
+        } catch (NumberFormatException e) {
+            throw new FlightRequestException("Invalid page cursor", e);
+        }
+    }
+
+    static FlightDTO toFlightDTO(Flight flight) {
+        return FlightDTO.builder()
+                .id(flight.getId())
+                .airline(flight.getAirline())
+                .departure(flight.getDeparture())
+                .destination(flight.getDestination())
+                .departureTime(flight.getDepartureTime())
+                .arrivalTime(flight.getArrivalTime())
+                .availableSeats(flight.getAvailableSeats())
+                .price(flight.getPrice())
+                .build();
+    }
+
+    // Status of every seat, or with sinceVersion only the seats changed after it
+    public SeatMapDTO getSeatMap(Integer flightId, Long sinceVersion) {
+        logger.debug("Fetching seat map of flight ID: {} since version {}", flightId, sinceVersion);
+        return seatMapSnapshots.get(flightId.longValue(), sinceVersion);
+    }
+
+    // Check seat availability for a flight from the in-memory counter; unknown flights have no seats
     public boolean isSeatAvailable(Integer flightId) {
         logger.debug("Checking seat availability for flight ID: {}", flightId);
-        Optional<Flight> flightOpt = flightRepository.findById(flightId);
-        return flightOpt.map(f -> f.getSeats().stream()
-                        .anyMatch(seat -> seat.getStatus() == SeatStatus.AVAILABLE))
-                .orElse(false);
+        return seatAvailabilityIndex.availableSeats(flightId.longValue()) > 0;
     }
 
     // Book the first available seat
     public FlightDetails bookSeat(Integer flightId) {
         logger.info("Booking a seat on flight ID: {}", flightId);
-        Optional<Flight> flightOpt = flightRepository.findById(flightId);
-        if (flightOpt.isEmpty()) {
-            logger.error("Flight not found with ID: {}", flightId);
-            throw new RuntimeException("Flight not found!");
+        return recordBooking("book", flightId, 1,
+                () -> bookingExecutor.execute(flightId, () -> bookNextAvailableSeat(flightId)));
+    }
+
+    private FlightDetails bookNextAvailableSeat(Integer flightId) {
+        Long id = flightId.longValue();
+        FlightDetails details = flightRepository.findDetailsById(id)
+                .orElseThrow(() -> {
+                    logger.error("Flight not found with ID: {}", flightId);
+                    return new FlightRequestException("Flight not found!");
+                });
+
+        String seatNumber = claimNextSeat(id);
+        if (seatNumber == null) {
+            logger.warn("No available seats in flight ID: {}", flightId);
+            throw new FlightRequestException("No available seats in this flight!");
         }
 
-        Flight flight = flightOpt.get();
-        Optional<Seat> seatToBook = flight.getSeats().stream()
-                .filter(seat -> seat.getStatus() == SeatStatus.AVAILABLE)
-                .findFirst();
+        seatRepository.save(bookedSeat(id, seatNumber));
+        flightSearchIndex.adjustAvailableSeats(id, -1);
+        flightEventOutbox.seatsChanged(id, List.of(seatNumber), SeatStatus.BOOKED);
+        logger.info("Seat {} booked on flight {}", seatNumber, flightId);
 
-        if (seatToBook.isPresent()) {
-            Seat seat = seatToBook.get();
-            seat.setStatus(SeatStatus.BOOKED);
+        details.setSeatNumber(seatNumber);
+        return details;
+    }
 
-            long updatedCount = flight.getSeats().stream()
-                    .filter(s -> s.getStatus() == SeatStatus.AVAILABLE)
-                    .count();
-            flight.setAvailableSeats((int) updatedCount);
-            flightRepository.save(flight);
+    // Take the next seat the index believes is free; a zero-row update means another node booked it first
+    private String claimNextSeat(Long flightId) {
+        String seatNumber;
+        while ((seatNumber = seatAvailabilityIndex.claimNext(flightId)) != null) {
+            if (flightRepository.transitionSeat(flightId, SeatAvailabilityIndex.toPosition(seatNumber),
+                    SeatStatus.AVAILABLE.codeString(), SeatStatus.BOOKED.codeString(), -1) == 1) {
+                return seatNumber;
+            }
+            logger.debug("Seat {} on flight ID: {} was already taken, trying the next one", seatNumber, flightId);
+        }
+        return null;
+    }
 
-            logger.info("Seat {} booked on flight {}", seat.getSeatNumber(), flightId);
+    // Book several seats at once, keeping the party together in one row where possible
+    public List<FlightDetails> bookSeats(Integer flightId, int count) {
+        logger.info("Booking {} seats on flight ID: {}", count, flightId);
+        if (count < 1 || count > maxBatchSize) {
+            throw new FlightRequestException("Seat count must be between 1 and " + maxBatchSize);
+        }
+        return recordBooking("book", flightId, count, () -> bookingExecutor.execute(flightId, () -> {
+            List<String> seatNumbers = seatAvailabilityIndex.claimBlock(flightId.longValue(), count);
+            if (seatNumbers == null) {
+                logger.warn("Not enough available seats in flight ID: {} for {} passengers", flightId, count);
+                throw new FlightRequestException("Not enough available seats in this flight!");
+            }
+            return bookClaimedSeats(flightId, seatNumbers);
+        }));
+    }
 
-            return new FlightDetails(flight.getAirline(), seat.getSeatNumber(), flight.getDeparture(),
-                    flight.getDestination(), flight.getDepartureTime(), flight.getArrivalTime(), flight.getPrice());
-        } else {
-            logger.warn("No available seats in flight ID: {}", flightId);
-            throw new RuntimeException("No available seats in this flight!");
+    // Book exactly the requested seats, or none of them
+    public List<FlightDetails> bookSeats(Integer flightId, List<String> seatNumbers) {
+        logger.info("Booking seats {} on flight ID: {}", seatNumbers, flightId);
+        if (seatNumbers.isEmpty() || seatNumbers.size() > maxBatchSize
+                || seatNumbers.stream().distinct().count() != seatNumbers.size()) {
+            throw new FlightRequestException("Between 1 and " + maxBatchSize + " distinct seats must be requested");
         }
+        return recordBooking("book", flightId, seatNumbers.size(), () -> bookingExecutor.execute(flightId, () -> {
+            if (!seatAvailabilityIndex.claimSeats(flightId.longValue(), seatNumbers)) {
+                logger.warn("Requested seats {} not available in flight ID: {}", seatNumbers, flightId);
+                throw new FlightRequestException("Requested seats are not available!");
+            }
+            return bookClaimedSeats(flightId, seatNumbers);
+        }));
     }
 
-    // Cancel a booked seat
-    public void cancelSeat(Integer flightId, String seatNumber) {
-        logger.info("Cancelling seat {} on flight ID: {}", seatNumber, flightId);
-        Flight flight = flightRepository.findById(flightId)
+    private List<FlightDetails> bookClaimedSeats(Integer flightId, List<String> seatNumbers) {
+        Long id = flightId.longValue();
+        FlightDetails details = findDetails(flightId);
+        takeClaimedSeats(id, seatNumbers, SeatStatus.BOOKED, seatNumber -> bookedSeat(id, seatNumber));
+        logger.info("Seats {} booked on flight {}", seatNumbers, flightId);
+        return seatNumbers.stream().map(seatNumber -> withSeat(details, seatNumber)).toList();
+    }
+
+    // Flip every seat already claimed in the index with one compare-and-set of the seat map and counter;
+    // if the map changed underneath (another node booked), the batch rolls back and is retried
+    private void takeClaimedSeats(Long flightId, List<String> seatNumbers, SeatStatus status,
+                                  Function<String, Seat> toSeat) {
+        String seatMap = flightRepository.findSeatMapById(flightId).orElse("");
+        char[] seats = seatMap.toCharArray();
+        for (String seatNumber : seatNumbers) {
+            int position = SeatAvailabilityIndex.toPosition(seatNumber);
+            if (position >= seats.length || seats[position] != SeatStatus.AVAILABLE.code()) {
+                // The index was stale: another node took this seat, so reload and retry
+                throw new OptimisticLockingFailureException("Seat " + seatNumber + " changed on flight " + flightId);
+            }
+            seats[position] = status.code();
+        }
+        int taken = seatNumbers.size();
+        if (flightRepository.replaceSeatMap(flightId, seatMap, new String(seats), -taken) == 0) {
+            throw new OptimisticLockingFailureException("Seat map changed on flight " + flightId);
+        }
+        seatRepository.saveAll(seatNumbers.stream().map(toSeat).toList());
+        flightSearchIndex.adjustAvailableSeats(flightId, -taken);
+        flightEventOutbox.seatsChanged(flightId, seatNumbers, status);
+    }
+
+    private FlightDetails findDetails(Integer flightId) {
+        return flightRepository.findDetailsById(flightId.longValue())
                 .orElseThrow(() -> {
                     logger.error("Flight not found with ID: {}", flightId);
-                    return new RuntimeException("Flight not found with ID: " + flightId);
+                    return new FlightRequestException("Flight not found!");
                 });
+    }
+
+    private static FlightDetails withSeat(FlightDetails details, String seatNumber) {
+        return new FlightDetails(details.getAirline(), seatNumber, details.getDepartureAirport(),
+                details.getArrivalAirport(), details.getDepartureTime(), details.getArrivalTime(),
+                details.getTotalAmountPaid());
+    }
+
+    // Seat records materialize only once booked; the seat map stays the source of truth for availability
+    private static Seat bookedSeat(Long flightId, String seatNumber) {
+        return Seat.builder()
+                .flightId(flightId)
+                .seatNumber(seatNumber)
+                .status(SeatStatus.BOOKED)
+                .build();
+    }
+
+    // Hold seats while payment is taken; they stay RESERVED until the hold is confirmed, released or expires
+    public SeatHoldDTO holdSeats(Integer flightId, int count) {
+        logger.info("Holding {} seats on flight ID: {}", count, flightId);
+        if (count < 1 || count > maxBatchSize) {
+            throw new FlightRequestException("Seat count must be between 1 and " + maxBatchSize);
+        }
+        return recordBooking("hold", flightId, count, () -> bookingExecutor.execute(flightId, () -> {
+            Long id = flightId.longValue();
+            List<String> seatNumbers = seatAvailabilityIndex.claimBlock(id, count);
+            if (seatNumbers == null) {
+                logger.warn("Not enough available seats in flight ID: {} to hold {}", flightId, count);
+                throw new FlightRequestException("Not enough available seats in this flight!");
+            }
+            String holdId = UUID.randomUUID().toString();
+            LocalDateTime expiresAt = LocalDateTime.now().plus(holdTtl);
+            takeClaimedSeats(id, seatNumbers, SeatStatus.RESERVED, seatNumber -> Seat.builder()
+                    .flightId(id)
+                    .seatNumber(seatNumber)
+                    .status(SeatStatus.RESERVED)
+                    .holdId(holdId)
+                    .heldUntil(expiresAt)
+                    .build());
+            eventPublisher.publishEvent(new SeatHoldPlaced(holdId, id, expiresAt));
+            logger.info("Seats {} held on flight {} until {}", seatNumbers, flightId, expiresAt);
+            return new SeatHoldDTO(holdId, id, seatNumbers, expiresAt);
+        }));
+    }
 
-        Optional<Seat> seatOpt = flight.getSeats().stream()
-                .filter(seat -> seat.getSeatNumber().equals(seatNumber) && seat.getStatus() == SeatStatus.BOOKED)
-                .findFirst();
-
-        if (seatOpt.isPresent()) {
-            Seat seat = seatOpt.get();
-            seat.setStatus(SeatStatus.AVAILABLE);
-            flight.setAvailableSeats(flight.getAvailableSeats() + 1);
-            flightRepository.save(flight);
-            logger.info("Seat {} cancelled successfully on flight ID: {}", seatNumber, flightId);
-        } else {
+    // Turn a live hold into bookings; a lapsed hold cannot be confirmed even before the sweeper releases it
+    public List<FlightDetails> confirmHold(String holdId) {
+        logger.info("Confirming hold {}", holdId);
+        List<Seat> held = liveHeldSeats(holdId);
+        Integer flightId = held.get(0).getFlightId().intValue();
+        return recordBooking("confirm", flightId, held.size(), () -> bookingExecutor.execute(flightId, () -> {
+            List<Seat> seats = liveHeldSeats(holdId);
+            FlightDetails details = findDetails(flightId);
+            settleHeldSeats(flightId.longValue(), seats, SeatStatus.BOOKED, 0);
+            // Dirty-checked: the version check on each row catches a concurrent release or expiry
+            seats.forEach(seat -> {
+                seat.setStatus(SeatStatus.BOOKED);
+                seat.setHoldId(null);
+                seat.setHeldUntil(null);
+            });
+            logger.info("Hold {} confirmed on flight {}", holdId, flightId);
+            return seats.stream().map(seat -> withSeat(details, seat.getSeatNumber())).toList();
+        }));
+    }
+
+    // Give a live hold's seats back before it expires
+    public void releaseHold(String holdId) {
+        logger.info("Releasing hold {}", holdId);
+        List<Seat> held = heldSeats(holdId);
+        Integer flightId = held.get(0).getFlightId().intValue();
+        recordBooking("release", flightId, held.size(), () -> bookingExecutor.execute(flightId, () -> {
+            releaseHeldSeats(flightId.longValue(), heldSeats(holdId));
+            return null;
+        }));
+    }
+
+    // Return lapsed holds on one flight to the pool with a single seat map and counter update;
+    // holds confirmed or released in the meantime no longer have RESERVED seats and are skipped
+    public int releaseExpiredHolds(Long flightId, Collection<String> holdIds) {
+        Integer id = flightId.intValue();
+        int released = bookingExecutor.execute(id, () -> {
+            List<Seat> seats = seatRepository.findByHoldIdInAndStatus(holdIds, SeatStatus.RESERVED);
+            releaseHeldSeats(flightId, seats);
+            return seats.size();
+        });
+        if (released > 0) {
+            logger.info("Released {} seats from expired holds on flight ID: {}", released, flightId);
+            flightMetrics.bookingSucceeded("expire", released);
+            flightMetrics.seatsRemaining(flightId, seatAvailabilityIndex.availableSeats(flightId));
+            eventPublisher.publishEvent(new FlightAvailabilityChanged(flightId));
+        }
+        return released;
+    }
+
+    private List<Seat> heldSeats(String holdId) {
+        return requireHold(holdId, seatRepository.findByHoldIdAndStatus(holdId, SeatStatus.RESERVED));
+    }
+
+    private List<Seat> liveHeldSeats(String holdId) {
+        return requireHold(holdId, seatRepository.findByHoldIdAndStatusAndHeldUntilAfter(holdId, SeatStatus.RESERVED,
+                LocalDateTime.now()));
+    }
+
+    private List<Seat> requireHold(String holdId, List<Seat> seats) {
+        if (seats.isEmpty()) {
+            logger.warn("Hold {} not found or expired", holdId);
+            throw new FlightRequestException("Hold not found or expired!");
+        }
+        return seats;
+    }
+
+    private void releaseHeldSeats(Long flightId, List<Seat> seats) {
+        if (seats.isEmpty()) {
+            return;
+        }
+        settleHeldSeats(flightId, seats, SeatStatus.AVAILABLE, seats.size());
+        seatRepository.deleteAllInBatch(seats);
+        seats.forEach(seat -> seatAvailabilityIndex.release(flightId, seat.getSeatNumber()));
+        flightSearchIndex.adjustAvailableSeats(flightId, seats.size());
+    }
+
+    // Move held seats out of RESERVED with one compare-and-set of the seat map, adjusting the counter by delta
+    private void settleHeldSeats(Long flightId, List<Seat> seats, SeatStatus status, int delta) {
+        String seatMap = flightRepository.findSeatMapById(flightId).orElse("");
+        char[] codes = seatMap.toCharArray();
+        for (Seat seat : seats) {
+            int position = SeatAvailabilityIndex.toPosition(seat.getSeatNumber());
+            if (position >= codes.length || codes[position] != SeatStatus.RESERVED.code()) {
+                throw new OptimisticLockingFailureException("Seat " + seat.getSeatNumber() + " is no longer held on flight "
+                        + flightId);
+            }
+            codes[position] = status.code();
+        }
+        if (flightRepository.replaceSeatMap(flightId, seatMap, new String(codes), delta) == 0) {
+            throw new OptimisticLockingFailureException("Seat map changed on flight " + flightId);
+        }
+        flightEventOutbox.seatsChanged(flightId, seats.stream().map(Seat::getSeatNumber).toList(), status);
+    }
+
+    // Cancel a booked seat
+    public void cancelSeat(Integer flightId, String seatNumber) {
+        logger.info("Cancelling seat {} on flight ID: {}", seatNumber, flightId);
+        recordBooking("cancel", flightId, 1, () -> bookingExecutor.execute(flightId, () -> {
+            releaseBookedSeat(flightId, seatNumber);
+            return null;
+        }));
+    }
+
+    // Count the outcome of a committed or failed seat mutation and refresh the flight's seats-remaining gauge
+    private <T> T recordBooking(String operation, Integer flightId, int seats, Supplier<T> mutation) {
+        T result;
+        try {
+            result = mutation.get();
+        } catch (RuntimeException e) {
+            flightMetrics.bookingFailed(operation);
+            throw e;
+        }
+        flightMetrics.bookingSucceeded(operation, seats);
+        flightMetrics.seatsRemaining(flightId.longValue(), seatAvailabilityIndex.availableSeats(flightId.longValue()));
+        eventPublisher.publishEvent(new FlightAvailabilityChanged(flightId.longValue()));
+        return result;
+    }
+
+    private void releaseBookedSeat(Integer flightId, String seatNumber) {
+        Long id = flightId.longValue();
+        if (flightRepository.transitionSeat(id, SeatAvailabilityIndex.toPosition(seatNumber),
+                SeatStatus.BOOKED.codeString(), SeatStatus.AVAILABLE.codeString(), 1) == 0) {
+            if (!flightRepository.existsById(flightId)) {
+                logger.error("Flight not found with ID: {}", flightId);
+                throw new FlightRequestException("Flight not found with ID: " + flightId);
+            }
             logger.warn("Seat {} not found or already available on flight ID: {}", seatNumber, flightId);
-            throw new RuntimeException("Seat not found or already available!");
+            throw new FlightRequestException("Seat not found or already available!");
         }
+
+        seatRepository.deleteSeat(id, seatNumber);
+        seatAvailabilityIndex.release(id, seatNumber);
+        flightSearchIndex.adjustAvailableSeats(id, 1);
+        flightEventOutbox.seatsChanged(id, List.of(seatNumber), SeatStatus.AVAILABLE);
+        logger.info("Seat {} cancelled successfully on flight ID: {}", seatNumber, flightId);
     }
 
-    // Fetch flight details by ID
+    // Fetch flight details by ID; served from the local cache until the flight is updated or deleted
+    @Cacheable(cacheNames = CacheConfig.FLIGHT_DETAILS, key = "#flightId")
     public FlightDetails getFlightDetailsById(Integer flightId) {
         logger.debug("Fetching flight details for ID: {}", flightId);
-        Flight flight = flightRepository.findById(flightId)
+        return flightRepository.findDetailsById(flightId.longValue())
                 .orElseThrow(() -> {
                     logger.error("Flight not found with ID: {}", flightId);
-                    return new RuntimeException("Flight not found with ID: " + flightId);
+                    return new FlightRequestException("Flight not found with ID: " + flightId);
                 });
-
-        return new FlightDetails(
-                flight.getAirline(),
-                null,
-                flight.getDeparture(),
-                flight.getDestination(),
-                flight.getDepartureTime(),
-                flight.getArrivalTime(),
-                flight.getPrice()
-        );
     }
 }
@@ -0,0 +1,53 @@
+package com.example.flight_service.service;
+
+import com.example.flight_service.entity.Flight;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+// Moves the id sequences past rows written while ids were AUTO_INCREMENT columns. Runs once the schema
+// update is done but before the web server starts, so no insert can draw an id that is already taken.
+@Component
+public class IdSequenceAlignment implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdSequenceAlignment.class);
+
+    // Table -> sequence backing its @SequenceGenerator
+    private static final Map<String, String> SEQUENCES = Map.of("flights", "flights_seq", "seats", "seats_seq");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        SEQUENCES.forEach(this::align);
+    }
+
+    // A pooled block handed out at value v covers (v - allocation size, v], so v must clear max(id) by a full block
+    void align(String table, String sequence) {
+        Long maxId = jdbcTemplate.queryForObject("select max(id) from " + table, Long.class);
+        if (maxId == null) {
+            return;
+        }
+        long floor = maxId + Flight.ID_ALLOCATION_SIZE + 1;
+        try {
+            // MySQL has no sequences: Hibernate keeps the next value in a one-row table
+            if (jdbcTemplate.update("update " + sequence + " set next_val = ? where next_val < ?", floor, floor) > 0) {
+                logger.info("Moved {} to {} past existing {} ids", sequence, floor, table);
+            }
+        } catch (BadSqlGrammarException e) {
+            // A native sequence (H2 and friends)
+            Long next = jdbcTemplate.queryForObject("select next value for " + sequence, Long.class);
+            if (next != null && next < floor) {
+                jdbcTemplate.execute("alter sequence " + sequence + " restart with " + floor);
+                logger.info("Restarted {} at {} past existing {} ids", sequence, floor, table);
+            }
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.flight_service.service;
+
+import com.example.flight_service.entity.IdempotencyRecord;
+import com.example.flight_service.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+// Answers a repeated Idempotency-Key with the first response instead of running the request again.
+// Keys are scoped to the caller and live in a bounded, TTL-evicted local cache. With
+// flight.idempotency.persistent=true a key is also claimed in idempotency_keys before the request runs, so
+// only one node ever runs it: others replay its stored response, or are told it is still in progress. A
+// request that dies after claiming its key leaves it in progress until the TTL, never run twice.
+// Failed requests are forgotten so that they can be retried.
+@Component
+public class IdempotencyStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyStore.class);
+
+    public static final String HEADER = "Idempotency-Key";
+    static final int MAX_KEY_LENGTH = 100;
+
+    private final Cache<String, Entry> entries;
+    private final Duration ttl;
+    private final boolean persistent;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private FlightMetrics flightMetrics;
+
+    public IdempotencyStore(MeterRegistry meterRegistry,
+                            @Value("${flight.idempotency.max-keys:100000}") long maxKeys,
+                            @Value("${flight.idempotency.ttl:24h}") Duration ttl,
+                            @Value("${flight.idempotency.persistent:false}") boolean persistent) {
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.ttl = ttl;
+        this.persistent = persistent;
+        CaffeineCacheMetrics.monitor(meterRegistry, entries, "idempotency");
+    }
+
+    // Run the action once per key; concurrent duplicates wait for the first one and share its outcome
+    public <T> T execute(String key, String request, TypeReference<T> responseType, Supplier<T> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new FlightRequestException(HEADER + " must be at most " + MAX_KEY_LENGTH + " characters");
+        }
+        String scopedKey = caller() + ":" + key;
+        Entry mine = new Entry(request, new CompletableFuture<>());
+        Entry existing = entries.asMap().putIfAbsent(scopedKey, mine);
+        if (existing != null) {
+            return replay(scopedKey, existing, request);
+        }
+        boolean claimed = false;
+        try {
+            T response = null;
+            if (persistent) {
+                response = claim(scopedKey, request, responseType);
+                claimed = response == null;
+            }
+            if (response == null) {
+                response = action.get();
+                if (claimed) {
+                    claimed = false;
+                    complete(scopedKey, response);
+                }
+            }
+            mine.response.complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            if (claimed) {
+                release(scopedKey);
+            }
+            entries.asMap().remove(scopedKey, mine);
+            mine.response.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    // Drop persisted responses, and claims abandoned by crashed requests, once no client would still be retrying
+    @Scheduled(fixedDelayString = "${flight.idempotency.cleanup-ms:3600000}")
+    public void deleteExpired() {
+        if (!persistent) {
+            return;
+        }
+        int deleted = idempotencyRecordRepository.deleteOlderThan(LocalDateTime.now().minus(ttl));
+        if (deleted > 0) {
+            logger.info("Deleted {} expired idempotency keys", deleted);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T replay(String scopedKey, Entry existing, String request) {
+        checkSameRequest(scopedKey, existing.request, request);
+        try {
+            T response = (T) existing.response.join();
+            logger.info("Replaying response for idempotency key {}", scopedKey);
+            flightMetrics.idempotentReplay();
+            return response;
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // Null once this call owns the key; otherwise the response of the request that claimed it first
+    private <T> T claim(String scopedKey, String request, TypeReference<T> responseType) {
+        // Looked up first so that plain retries do not end in a failed insert; two nodes racing still do
+        Optional<IdempotencyRecord> record = idempotencyRecordRepository.findById(scopedKey);
+        if (record.isEmpty()) {
+            try {
+                idempotencyRecordRepository.claim(scopedKey, request, LocalDateTime.now());
+                return null;
+            } catch (DataIntegrityViolationException e) {
+                logger.debug("Idempotency key {} claimed concurrently", scopedKey);
+                record = idempotencyRecordRepository.findById(scopedKey);
+            }
+        }
+        if (record.isPresent()) {
+            checkSameRequest(scopedKey, record.get().getRequest(), request);
+        }
+        if (record.isEmpty() || record.get().getResponse() == null) {
+            throw new FlightRequestException("A request with this " + HEADER
+                    + " is still in progress, please retry!");
+        }
+        try {
+            T response = objectMapper.readValue(record.get().getResponse(), responseType);
+            logger.info("Replaying stored response for idempotency key {}", scopedKey);
+            flightMetrics.idempotentReplay();
+            return response;
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Unreadable stored response for " + HEADER, e);
+        }
+    }
+
+    // The action has already committed, so failing to remember it must not fail the request; the key then
+    // stays claimed, and retries are refused rather than run again
+    private void complete(String scopedKey, Object response) {
+        try {
+            idempotencyRecordRepository.complete(scopedKey, objectMapper.writeValueAsString(response));
+        } catch (JsonProcessingException | DataAccessException e) {
+            logger.warn("Could not store response for idempotency key {}: {}", scopedKey, e.getMessage());
+        }
+    }
+
+    private void release(String scopedKey) {
+        try {
+            idempotencyRecordRepository.release(scopedKey);
+        } catch (DataAccessException e) {
+            logger.warn("Could not release idempotency key {}: {}", scopedKey, e.getMessage());
+        }
+    }
+
+    private static void checkSameRequest(String scopedKey, String original, String request) {
+        if (!original.equals(request)) {
+            logger.warn("Idempotency key {} reused for a different request", scopedKey);
+            throw new FlightRequestException(HEADER + " was already used for a different request");
+        }
+    }
+
+    private static String caller() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : "anonymous";
+    }
+
+    private record Entry(String request, CompletableFuture<Object> response) {
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.flight_service.service;
+
+import com.example.flight_service.dto.FlightEventDTO;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+// Keeps the most recent events in process, for tests and local runs without a broker
+public class InMemoryFlightEventSink implements FlightEventSink {
+
+    private final Deque<FlightEventDTO> events = new ArrayDeque<>();
+    private final int capacity;
+
+    public InMemoryFlightEventSink(int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public synchronized void publish(List<FlightEventDTO> batch) {
+        for (FlightEventDTO event : batch) {
+            if (events.size() == capacity) {
+                events.removeFirst();
+            }
+            events.addLast(event);
+        }
+    }
+
+    // Published events, oldest first
+    public synchronized List<FlightEventDTO> events() {
+        return List.copyOf(events);
+    }
+}
@@ -1,19 +1,34 @@
 package com.example.flight_service.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 @Service
@@ -24,6 +39,50 @@ public class JWTService {
     @Value("${jwt.secret}")
     private String secretKey;
 
+    @Value("${jwt.cache.max-size:10000}")
+    private long cacheMaxSize = 10000;
+
+    // Verification latency and token cache hit ratio; a no-op registry when constructed outside Spring
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry = Metrics.globalRegistry;
+
+    private JwtParser parser;
+
+    // Verified claims by SHA-256 digest of the token, each entry expiring exactly when its token does; the
+    // tokens themselves are never kept
+    private Cache<String, Claims> verifiedTokens;
+
+
+//    Decodes the key and builds the parser once instead of on every verification.
+    @PostConstruct
+    void init() {
+        parser = Jwts.parser()
+                .verifyWith(getKey())
+                .build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String digest, Claims claims, long currentTime) {
+                        return TimeUnit.MILLISECONDS.toNanos(
+                                Math.max(0, claims.getExpiration().getTime() - System.currentTimeMillis()));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String digest, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String digest, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "jwtClaims");
+    }
+
 
 //     Extracts the role claim from a JWT token
     public String extractRole(String token) {
@@ -48,20 +107,52 @@ public class JWTService {
         return claimResolver.apply(claims);
     }
 
-//    Parses and validates the JWT, returning all claims.
+//    Verifies the token once and returns its claims; throws if it is invalid, expired or never expires.
+    public Claims verify(String token) {
+        Claims claims = extractAllClaims(token);
+        if (claims.getExpiration() == null || claims.getExpiration().before(new Date())) {
+            throw new RuntimeException("Token expired");
+        }
+        return claims;
+    }
+
+//    Returns the claims of a token verified earlier, or parses and validates it and remembers the result.
     private Claims extractAllClaims(String token) {
+        String digest = digest(token);
+        Claims cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null) {
+            return cached;
+        }
+        long start = System.nanoTime();
+        String result = "valid";
         try {
-            return Jwts.parser()
-                    .verifyWith(getKey())
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            // Tokens without an expiry are verified every time rather than cached forever
+            if (claims.getExpiration() != null) {
+                verifiedTokens.put(digest, claims);
+            }
+            return claims;
         } catch (ExpiredJwtException e) {
+            result = "expired";
             logger.warn("Token is expired: {}", e.getMessage());
             throw e;
         } catch (JwtException e) {
+            result = "invalid";
             logger.error("Invalid JWT token: {}", e.getMessage());
             throw new RuntimeException("Invalid token");
+        } finally {
+            meterRegistry.timer("jwt.verification", "result", result)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+//     SHA-256 of the token, Base64-encoded, as the cache key.
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
         }
     }
 
@@ -75,8 +166,7 @@ public class JWTService {
 //    Validates a token by checking the username and expiration.
     public boolean validateToken(String token, UserDetails userDetails) {
         try {
-            final String username = extractUsername(token);
-            return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+            return verify(token).getSubject().equals(userDetails.getUsername());
         } catch (Exception e) {
             logger.warn("Token validation failed: {}", e.getMessage());
             return false;
@@ -84,14 +174,8 @@ public class JWTService {
     }
 
 
-//     Returns whether the token is expired.
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-
-//     Extracts the expiration time from the token.
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+//    Hit/miss/eviction counts of the verified-token cache.
+    public CacheStats tokenCacheStats() {
+        return verifiedTokens.stats();
     }
 }
@@ -0,0 +1,82 @@
+package com.example.flight_service.service;
+
+import com.example.flight_service.dto.FlightEventDTO;
+import com.example.flight_service.entity.OutboxEvent;
+import com.example.flight_service.repository.OutboxEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+// Moves committed outbox rows to the FlightEventSink in id order, one batch per transaction. A batch stays
+// locked while it is published and is deleted once the sink accepted it; if the sink fails the batch rolls
+// back and is retried on the next run, so delivery is at-least-once.
+@Component
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private FlightEventSink flightEventSink;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private FlightMetrics flightMetrics;
+
+    @Value("${flight.outbox.enabled:false}")
+    private boolean enabled;
+
+    @Value("${flight.outbox.batch-size:200}")
+    private int batchSize = 200;
+
+    // Publish everything pending, batch after batch; returns the number of events relayed
+    @Scheduled(fixedDelayString = "${flight.outbox.relay-interval-ms:1000}")
+    public int relay() {
+        if (!enabled) {
+            return 0;
+        }
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        int relayed = 0;
+        try {
+            Integer batch;
+            do {
+                batch = transactionTemplate.execute(status -> relayBatch());
+                relayed += batch;
+            } while (batch == batchSize);
+        } catch (RuntimeException e) {
+            logger.warn("Outbox relay stopped after {} events; the rest is retried on the next run", relayed, e);
+        }
+        if (relayed > 0) {
+            logger.debug("Relayed {} flight events", relayed);
+        }
+        return relayed;
+    }
+
+    private int relayBatch() {
+        List<OutboxEvent> events = outboxEventRepository.findOldestForUpdate(Limit.of(batchSize));
+        if (events.isEmpty()) {
+            return 0;
+        }
+        flightEventSink.publish(events.stream().map(OutboxRelay::toDTO).toList());
+        outboxEventRepository.deleteAllInBatch(events);
+        flightMetrics.outboxPublished(events.size());
+        return events.size();
+    }
+
+    private static FlightEventDTO toDTO(OutboxEvent event) {
+        return new FlightEventDTO(event.getId(), event.getType(), event.getFlightId(), event.getCreatedAt(),
+                event.getPayload());
+    }
+}
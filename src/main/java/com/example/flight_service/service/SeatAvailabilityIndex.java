@@ -0,0 +1,315 @@
+package com.example.flight_service.service;
+
+import com.example.flight_service.entity.SeatStatus;
+import com.example.flight_service.repository.FlightRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Per-flight bitset of AVAILABLE seats, decoded from Flight.seatMap so booking never has to parse it. Each entry
+// remembers the Flight.version it was loaded at; AvailabilityReconciler reloads entries whose flight has moved on
+// since, which is how seats freed or taken by other nodes reach this one.
+@Component
+public class SeatAvailabilityIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(SeatAvailabilityIndex.class);
+
+    // Seats are laid out six abreast (A-F); position n is character n of Flight.seatMap
+    static final int SEATS_PER_ROW = 6;
+
+    private final Map<Long, FlightSeats> flights = new ConcurrentHashMap<>();
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    // Claim the lowest-numbered available seat, or return null when the flight is full
+    public String claimNext(Long flightId) {
+        FlightSeats seats = load(flightId);
+        int position = seats.claimNext();
+        if (position < 0) {
+            return null;
+        }
+        evictOnRollback(flightId);
+        return toSeatNumber(position);
+    }
+
+    // Claim a block of seats, preferring neighbours in one row; all or nothing, null when they do not fit
+    public List<String> claimBlock(Long flightId, int count) {
+        int[] positions = load(flightId).claimBlock(count);
+        if (positions == null) {
+            return null;
+        }
+        evictOnRollback(flightId);
+        List<String> seatNumbers = new ArrayList<>(positions.length);
+        for (int position : positions) {
+            seatNumbers.add(toSeatNumber(position));
+        }
+        return seatNumbers;
+    }
+
+    // Claim exactly the requested seats; false (and nothing claimed) if any of them is taken
+    public boolean claimSeats(Long flightId, List<String> seatNumbers) {
+        int[] positions = seatNumbers.stream().mapToInt(SeatAvailabilityIndex::toPosition).toArray();
+        if (!load(flightId).claimAll(positions)) {
+            return false;
+        }
+        evictOnRollback(flightId);
+        return true;
+    }
+
+    // Return a previously claimed seat to the pool
+    public void release(Long flightId, String seatNumber) {
+        FlightSeats seats = flights.get(flightId);
+        if (seats != null) {
+            seats.release(toPosition(seatNumber));
+            evictOnRollback(flightId);
+        }
+    }
+
+    // Number of seats currently available on the flight
+    public int availableSeats(Long flightId) {
+        return load(flightId).available();
+    }
+
+    // Drop the cached state so the next access reloads it from the seat map
+    public void evict(Long flightId) {
+        if (flights.remove(flightId) != null) {
+            logger.debug("Evicted seat availability index for flight ID: {}", flightId);
+        }
+    }
+
+    // Evict once the surrounding transaction has finished, so nobody reloads the state it is replacing
+    public void evictAfterCompletion(Long flightId) {
+        afterCompletion(flightId, false);
+    }
+
+    // Flight.version each cached flight was loaded at
+    public Map<Long, Long> loadedVersions() {
+        Map<Long, Long> versions = new HashMap<>(flights.size() * 4 / 3 + 1);
+        flights.forEach((flightId, seats) -> versions.put(flightId, seats.version));
+        return versions;
+    }
+
+    // Replace a cached flight with its stored seat map; true if that changed which seats are available.
+    // Callers hold the flight's booking lock, so no claim of this node is in flight meanwhile.
+    public boolean reload(Long flightId) {
+        FlightSeats cached = flights.get(flightId);
+        if (cached == null) {
+            return false;
+        }
+        FlightSeats stored = read(flightId);
+        if (stored == null) {
+            flights.remove(flightId, cached);
+            return true;
+        }
+        boolean changed = !cached.sameSeats(stored);
+        flights.replace(flightId, cached, stored);
+        if (changed) {
+            logger.info("Seat availability index of flight ID: {} was stale; reloaded at version {}",
+                    flightId, stored.version);
+        }
+        return changed;
+    }
+
+    // Unknown flights are not cached: the id may be about to be taken by a flight that is still being created.
+    // The query runs outside the map's bin lock: blocking JDBC under a monitor would pin a virtual thread's carrier
+    private FlightSeats load(Long flightId) {
+        FlightSeats seats = flights.get(flightId);
+        if (seats != null) {
+            return seats;
+        }
+        seats = read(flightId);
+        if (seats == null) {
+            return new FlightSeats(new BitSet(), -1);
+        }
+        logger.debug("Loaded seat availability index for flight ID: {} ({} available)", flightId, seats.available());
+        // A concurrent loader may have won; everyone then shares its copy
+        FlightSeats winner = flights.putIfAbsent(flightId, seats);
+        return winner != null ? winner : seats;
+    }
+
+    private FlightSeats read(Long flightId) {
+        return flightRepository.findVersionedSeatMapById(flightId)
+                .map(stored -> {
+                    String seatMap = stored.getSeatMap() != null ? stored.getSeatMap() : "";
+                    BitSet free = new BitSet(seatMap.length());
+                    for (int position = 0; position < seatMap.length(); position++) {
+                        if (seatMap.charAt(position) == SeatStatus.AVAILABLE.code()) {
+                            free.set(position);
+                        }
+                    }
+                    return new FlightSeats(free, stored.getVersion());
+                })
+                .orElse(null);
+    }
+
+    // The in-memory change is only valid if the surrounding transaction commits
+    private void evictOnRollback(Long flightId) {
+        afterCompletion(flightId, true);
+    }
+
+    private void afterCompletion(Long flightId, boolean onRollbackOnly) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            if (!onRollbackOnly) {
+                evict(flightId);
+            }
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (!onRollbackOnly || status != STATUS_COMMITTED) {
+                    evict(flightId);
+                }
+            }
+        });
+    }
+
+    // "12C" -> 68 (zero-based, row-major); also the seat's index in Flight.seatMap
+    static int toPosition(String seatNumber) {
+        int row;
+        try {
+            row = Integer.parseInt(seatNumber.substring(0, seatNumber.length() - 1));
+        } catch (RuntimeException e) {
+            throw new FlightRequestException("Invalid seat number: " + seatNumber, e);
+        }
+        char column = seatNumber.charAt(seatNumber.length() - 1);
+        if (row < 1 || column < 'A' || column >= 'A' + SEATS_PER_ROW) {
+            throw new FlightRequestException("Invalid seat number: " + seatNumber);
+        }
+        return (row - 1) * SEATS_PER_ROW + (column - 'A');
+    }
+
+    // 68 -> "12C"
+    static String toSeatNumber(int position) {
+        int row = position / SEATS_PER_ROW + 1;
+        char column = (char) ('A' + position % SEATS_PER_ROW);
+        return row + String.valueOf(column);
+    }
+
+    private static final class FlightSeats {
+        private final BitSet free;
+        private final long version;
+        private int available;
+
+        private FlightSeats(BitSet free, long version) {
+            this.free = free;
+            this.version = version;
+            this.available = free.cardinality();
+        }
+
+        synchronized boolean sameSeats(FlightSeats other) {
+            return free.equals(other.free);
+        }
+
+        synchronized int claimNext() {
+            int position = free.nextSetBit(0);
+            if (position >= 0) {
+                free.clear(position);
+                available--;
+            }
+            return position;
+        }
+
+        synchronized int[] claimBlock(int count) {
+            if (count > available) {
+                return null;
+            }
+            int[] positions = count <= SEATS_PER_ROW ? findInOneRow(count) : null;
+            if (positions == null) {
+                positions = firstFree(count);
+            }
+            for (int position : positions) {
+                free.clear(position);
+            }
+            available -= count;
+            return positions;
+        }
+
+        synchronized boolean claimAll(int[] positions) {
+            for (int position : positions) {
+                if (position < 0 || !free.get(position)) {
+                    return false;
+                }
+            }
+            for (int position : positions) {
+                free.clear(position);
+            }
+            available -= positions.length;
+            return true;
+        }
+
+        // First row holding a contiguous run of count seats, else the first row with count seats anywhere in it
+        private int[] findInOneRow(int count) {
+            int[] scattered = null;
+            int rowStart = rowOf(free.nextSetBit(0));
+            while (rowStart >= 0) {
+                int rowEnd = rowStart + SEATS_PER_ROW;
+                int runStart = rowStart;
+                int inRow = 0;
+                for (int position = rowStart; position < rowEnd; position++) {
+                    if (!free.get(position)) {
+                        runStart = position + 1;
+                        continue;
+                    }
+                    inRow++;
+                    if (position - runStart + 1 == count) {
+                        return range(runStart, count);
+                    }
+                }
+                if (scattered == null && inRow >= count) {
+                    scattered = firstFrom(rowStart, count);
+                }
+                rowStart = rowOf(free.nextSetBit(rowEnd));
+            }
+            return scattered;
+        }
+
+        private int[] firstFree(int count) {
+            return firstFrom(0, count);
+        }
+
+        private int[] firstFrom(int from, int count) {
+            int[] positions = new int[count];
+            int position = free.nextSetBit(from);
+            for (int i = 0; i < count; i++) {
+                positions[i] = position;
+                position = free.nextSetBit(position + 1);
+            }
+            return positions;
+        }
+
+        private static int rowOf(int position) {
+            return position < 0 ? -1 : position - position % SEATS_PER_ROW;
+        }
+
+        private static int[] range(int start, int count) {
+            int[] positions = new int[count];
+            for (int i = 0; i < count; i++) {
+                positions[i] = start + i;
+            }
+            return positions;
+        }
+
+        synchronized void release(int position) {
+            if (!free.get(position)) {
+                free.set(position);
+                available++;
+            }
+        }
+
+        synchronized int available() {
+            return available;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.flight_service.service;
+
+import com.example.flight_service.entity.Seat;
+import com.example.flight_service.entity.SeatStatus;
+import com.example.flight_service.repository.SeatRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Releases lapsed seat holds. Holds wait in a queue ordered by expiry, so each sweep touches only holds that are
+// due, never the seats table; due holds are released per flight with one seat map and counter update.
+// Confirmed or released holds stay queued and are skipped when they come due. The queue only knows holds placed
+// on this node, so an infrequent range scan of held_until also releases holds orphaned by a node that went away.
+@Component
+public class SeatHoldExpiry {
+
+    private static final Logger logger = LoggerFactory.getLogger(SeatHoldExpiry.class);
+
+    private final DelayQueue<PendingHold> pending = new DelayQueue<>();
+
+    @Value("${flight.booking.hold-expiry-batch-size:500}")
+    private int batchSize = 500;
+
+    @Autowired
+    private FlightService flightService;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    // Track a hold once it is committed
+    @TransactionalEventListener
+    public void onHoldPlaced(SeatHoldPlaced hold) {
+        pending.offer(new PendingHold(hold.holdId(), hold.flightId(), hold.expiresAt()));
+    }
+
+    // Re-queue holds that were open when the service last stopped
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        Map<String, Seat> holds = seatRepository.findByStatus(SeatStatus.RESERVED).stream()
+                .filter(seat -> seat.getHoldId() != null)
+                .collect(Collectors.toMap(Seat::getHoldId, seat -> seat, (first, second) -> first));
+        holds.values().forEach(seat ->
+                pending.offer(new PendingHold(seat.getHoldId(), seat.getFlightId(), seat.getHeldUntil())));
+        if (!holds.isEmpty()) {
+            logger.info("Tracking {} open seat holds", holds.size());
+        }
+    }
+
+    // Backstop for holds no live node has queued: release lapsed holds found by held_until, batchSize seats at a time
+    @Scheduled(initialDelayString = "${flight.booking.hold-backstop-sweep-ms:60000}",
+            fixedDelayString = "${flight.booking.hold-backstop-sweep-ms:60000}")
+    public void releaseOrphaned() {
+        List<Seat> lapsed;
+        do {
+            lapsed = seatRepository.findByHeldUntilBeforeAndStatusOrderByHeldUntil(LocalDateTime.now(),
+                    SeatStatus.RESERVED, Limit.of(batchSize));
+            Map<Long, List<String>> byFlight = lapsed.stream().collect(Collectors.groupingBy(Seat::getFlightId,
+                    Collectors.mapping(Seat::getHoldId, Collectors.toList())));
+            int released = 0;
+            for (Map.Entry<Long, List<String>> flight : byFlight.entrySet()) {
+                try {
+                    released += flightService.releaseExpiredHolds(flight.getKey(), Set.copyOf(flight.getValue()));
+                } catch (RuntimeException e) {
+                    logger.warn("Could not release lapsed holds on flight ID: {}: {}", flight.getKey(), e.getMessage());
+                }
+            }
+            if (released == 0) {
+                return; // Nothing moved; leave the rest for the next sweep rather than spin on it
+            }
+        } while (lapsed.size() == batchSize);
+    }
+
+    // Drain every hold that is due, batchSize at a time
+    @Scheduled(fixedDelayString = "${flight.booking.hold-sweep-ms:1000}")
+    public void releaseExpired() {
+        List<PendingHold> due = new ArrayList<>(Math.min(batchSize, 64));
+        List<PendingHold> failed = new ArrayList<>();
+        while (pending.drainTo(due, batchSize) > 0) {
+            Map<Long, List<PendingHold>> byFlight = due.stream().collect(Collectors.groupingBy(PendingHold::flightId));
+            byFlight.forEach((flightId, holds) -> {
+                try {
+                    int released = flightService.releaseExpiredHolds(flightId,
+                            holds.stream().map(PendingHold::holdId).toList());
+                    logger.debug("Released {} seats from {} expired holds on flight ID: {}",
+                            released, holds.size(), flightId);
+                } catch (RuntimeException e) {
+                    logger.warn("Could not release expired holds on flight ID: {}: {}", flightId, e.getMessage());
+                    failed.addAll(holds);
+                }
+            });
+            due.clear();
+        }
+        // Already due, so they are retried on the next sweep
+        failed.forEach(pending::offer);
+    }
+
+    private record PendingHold(String holdId, Long flightId, LocalDateTime expiresAt) implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(Duration.between(LocalDateTime.now(), expiresAt));
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return expiresAt.compareTo(((PendingHold) other).expiresAt);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.flight_service.service;
+
+import java.time.LocalDateTime;
+
+// Published inside the hold's transaction; SeatHoldExpiry only sees it once the hold is committed
+public record SeatHoldPlaced(String holdId, Long flightId, LocalDateTime expiresAt) {
+}
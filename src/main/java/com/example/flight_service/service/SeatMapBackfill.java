@@ -0,0 +1,73 @@
+package com.example.flight_service.service;
+
+import com.example.flight_service.entity.Flight;
+import com.example.flight_service.entity.SeatStatus;
+import com.example.flight_service.repository.FlightRepository;
+import com.example.flight_service.repository.SeatRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+// Converts flights stored with one Seat row per seat to the packed seat map, keeping only the booked rows.
+// Runs before the web server starts, so no request can see a legacy flight as having no free seats.
+@Component
+public class SeatMapBackfill implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(SeatMapBackfill.class);
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private SeatAvailabilityIndex seatAvailabilityIndex;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        backfill();
+    }
+
+    // Fill in every missing seat map
+    public void backfill() {
+        List<Flight> legacyFlights = flightRepository.findBySeatMapIsNull();
+        if (legacyFlights.isEmpty()) {
+            return;
+        }
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        for (Flight flight : legacyFlights) {
+            transactionTemplate.executeWithoutResult(status -> convert(flight));
+            // Anything read from the flight while it had no seat map is stale
+            seatAvailabilityIndex.evict(flight.getId());
+        }
+        logger.info("Built seat maps for {} flights", legacyFlights.size());
+    }
+
+    private void convert(Flight flight) {
+        Long flightId = flight.getId();
+        char[] seats = Flight.emptySeatMap(flight.getTotalSeats()).toCharArray();
+        for (SeatStatus taken : List.of(SeatStatus.BOOKED, SeatStatus.RESERVED)) {
+            for (String seatNumber : seatRepository.findSeatNumbersByFlightIdAndStatus(flightId, taken)) {
+                int position = SeatAvailabilityIndex.toPosition(seatNumber);
+                if (position < seats.length) {
+                    seats[position] = taken.code();
+                }
+            }
+        }
+        if (flightRepository.initializeSeatMap(flightId, new String(seats)) == 1) {
+            seatRepository.deleteByFlightIdAndStatus(flightId, SeatStatus.AVAILABLE);
+            flightRepository.reconcileAvailableSeats(flightId);
+            logger.debug("Built seat map for flight ID: {}", flightId);
+        }
+    }
+}
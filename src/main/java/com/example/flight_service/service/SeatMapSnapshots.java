@@ -0,0 +1,175 @@
+package com.example.flight_service.service;
+
+import com.example.flight_service.dto.SeatMapDTO;
+import com.example.flight_service.entity.SeatStatus;
+import com.example.flight_service.repository.FlightRepository;
+import com.example.flight_service.repository.FlightRepository.VersionedSeatMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Versioned seat map per flight, labelled with Flight.version. The full response is built once per version;
+// polls within maxStaleness are answered from memory, later ones re-read version and seat map with one
+// primary-key lookup and only rebuild when the version moved. A rebuild diffs the old and new maps into a
+// bounded change log, which answers "what changed since version v" without resending the whole map. The log
+// only knows the versions this node observed, so a delta is served only since one of those: a version seen
+// on another node may sit between two observations, and a seat that flipped and flipped back across it would
+// be missing from the diff.
+@Component
+public class SeatMapSnapshots {
+
+    private static final Logger logger = LoggerFactory.getLogger(SeatMapSnapshots.class);
+
+    private final Map<Long, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    @Value("${flight.seat-map.max-staleness:1s}")
+    private Duration maxStaleness = Duration.ofSeconds(1);
+
+    @Value("${flight.seat-map.max-changes:256}")
+    private int maxChanges = 256;
+
+    // The whole seat map, or only the seats changed after sinceVersion when it is a version the change log recorded
+    public SeatMapDTO get(Long flightId, Long sinceVersion) {
+        return find(flightId, sinceVersion)
+                .orElseThrow(() -> new FlightRequestException("Flight not found with ID: " + flightId));
+    }
+
+    // As get, but empty when the flight does not exist
+    public Optional<SeatMapDTO> find(Long flightId, Long sinceVersion) {
+        Snapshot snapshot = current(flightId);
+        if (snapshot == null) {
+            return Optional.empty();
+        }
+        return Optional.of(view(snapshot, flightId, sinceVersion));
+    }
+
+    private static SeatMapDTO view(Snapshot snapshot, Long flightId, Long sinceVersion) {
+        if (sinceVersion == null || Collections.binarySearch(snapshot.versions, sinceVersion) < 0) {
+            return snapshot.full;
+        }
+        Map<String, SeatStatus> changed = new LinkedHashMap<>();
+        for (Change change : snapshot.changes) {
+            if (change.version > sinceVersion) {
+                changed.put(SeatAvailabilityIndex.toSeatNumber(change.position), SeatStatus.fromCode(change.code));
+            }
+        }
+        return new SeatMapDTO(flightId, snapshot.full.getVersion(), snapshot.full.getAvailableSeats(), true, changed);
+    }
+
+    // Have the next read re-check the database once the change is committed
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAvailabilityChanged(FlightAvailabilityChanged event) {
+        markStale(event.flightId());
+    }
+
+    // Forget a deleted flight
+    public void remove(Long flightId) {
+        snapshots.remove(flightId);
+    }
+
+    private void markStale(Long flightId) {
+        Snapshot snapshot = snapshots.get(flightId);
+        if (snapshot != null) {
+            snapshot.checkedAt = 0;
+        }
+    }
+
+    // Null when the flight does not exist
+    private Snapshot current(Long flightId) {
+        Snapshot snapshot = snapshots.get(flightId);
+        long now = System.nanoTime();
+        if (snapshot != null && snapshot.checkedAt != 0 && now - snapshot.checkedAt < maxStaleness.toNanos()) {
+            return snapshot;
+        }
+        VersionedSeatMap stored = flightRepository.findVersionedSeatMapById(flightId).orElse(null);
+        if (stored == null) {
+            snapshots.remove(flightId);
+            return null;
+        }
+        long version = stored.getVersion();
+        if (snapshot != null && snapshot.full.getVersion() == version) {
+            snapshot.checkedAt = now;
+            return snapshot;
+        }
+        String seatMap = stored.getSeatMap() == null ? "" : stored.getSeatMap();
+        Snapshot refreshed = snapshot == null || version < snapshot.full.getVersion()
+                ? new Snapshot(build(flightId, version, seatMap), seatMap, List.of(), List.of(version), now)
+                : next(snapshot, flightId, version, seatMap, now);
+        // Concurrent refreshes may race; any of them is a valid snapshot of a version at least this new
+        snapshots.put(flightId, refreshed);
+        logger.debug("Seat map snapshot of flight ID: {} now at version {}", flightId, version);
+        return refreshed;
+    }
+
+    private Snapshot next(Snapshot previous, Long flightId, long version, String seatMap, long now) {
+        List<Change> changes = new ArrayList<>(previous.changes);
+        String before = previous.seatMap;
+        for (int position = 0; position < seatMap.length(); position++) {
+            if (position >= before.length() || before.charAt(position) != seatMap.charAt(position)) {
+                changes.add(new Change(version, position, seatMap.charAt(position)));
+            }
+        }
+        List<Long> versions = new ArrayList<>(previous.versions);
+        versions.add(version);
+        // Clients behind the oldest kept version get the full map again
+        long oldest = versions.get(0);
+        if (changes.size() > maxChanges) {
+            oldest = Math.max(oldest, changes.get(changes.size() - maxChanges - 1).version);
+        }
+        if (versions.size() > maxChanges) {
+            oldest = Math.max(oldest, versions.get(versions.size() - maxChanges));
+        }
+        long logStart = oldest;
+        changes.removeIf(change -> change.version <= logStart);
+        versions.removeIf(observed -> observed < logStart);
+        return new Snapshot(build(flightId, version, seatMap), seatMap, Collections.unmodifiableList(changes),
+                Collections.unmodifiableList(versions), now);
+    }
+
+    private static SeatMapDTO build(Long flightId, long version, String seatMap) {
+        Map<String, SeatStatus> seats = new LinkedHashMap<>(seatMap.length() * 4 / 3 + 1);
+        int available = 0;
+        for (int position = 0; position < seatMap.length(); position++) {
+            SeatStatus status = SeatStatus.fromCode(seatMap.charAt(position));
+            seats.put(SeatAvailabilityIndex.toSeatNumber(position), status);
+            if (status == SeatStatus.AVAILABLE) {
+                available++;
+            }
+        }
+        return new SeatMapDTO(flightId, version, available, false, Collections.unmodifiableMap(seats));
+    }
+
+    private record Change(long version, int position, char code) {
+    }
+
+    private static final class Snapshot {
+        private final SeatMapDTO full;
+        private final String seatMap;
+        private final List<Change> changes; // oldest first; complete for every version after the first observed one
+        private final List<Long> versions; // versions this node built snapshots of, ascending
+        private volatile long checkedAt;
+
+        private Snapshot(SeatMapDTO full, String seatMap, List<Change> changes, List<Long> versions, long checkedAt) {
+            this.full = full;
+            this.seatMap = seatMap;
+            this.changes = changes;
+            this.versions = versions;
+            this.checkedAt = checkedAt;
+        }
+    }
+}
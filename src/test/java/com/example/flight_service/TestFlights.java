@@ -0,0 +1,37 @@
+package com.example.flight_service;
+
+import com.example.flight_service.entity.Flight;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+// Unsaved flights for tests: a two-hour flight with no seat rows yet, so addFlight or the repository creates them
+public final class TestFlights {
+
+    private TestFlights() {
+    }
+
+    // TestAir, DEL to BOM, a week from now
+    public static Flight newFlight(int totalSeats) {
+        return newFlight("TestAir", LocalDateTime.now().plusDays(7), 4500, totalSeats);
+    }
+
+    // DEL to BOM
+    public static Flight newFlight(String airline, LocalDateTime departureTime, double price, int totalSeats) {
+        return newFlight(airline, "DEL", "BOM", departureTime, price, totalSeats);
+    }
+
+    public static Flight newFlight(String airline, String departure, String destination,
+                                   LocalDateTime departureTime, double price, int totalSeats) {
+        return Flight.builder()
+                .airline(airline)
+                .departure(departure)
+                .destination(destination)
+                .departureTime(departureTime)
+                .arrivalTime(departureTime.plusHours(2))
+                .price(price)
+                .totalSeats(totalSeats)
+                .seats(new ArrayList<>())
+                .build();
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.flight_service.benchmark;
+
+import com.example.flight_service.TestFlights;
+import com.example.flight_service.entity.Flight;
+import com.example.flight_service.service.FlightService;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.env.Environment;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Booking throughput over HTTP with 1k+ concurrent clients. Run once per mode and compare:
+//   mvn test -Pbenchmark -Dtest=BookingLoadBenchmarkTest
+//   mvn test -Pbenchmark -Dtest=BookingLoadBenchmarkTest -Dspring.threads.virtual.enabled=true   (Java 21+)
+// Add -Djdk.tracePinnedThreads=short to the forked JVM to report carrier pinning in virtual mode.
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class BookingLoadBenchmarkTest {
+
+    private static final int CLIENTS = Integer.getInteger("load.clients", 1_000);
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("load.seconds", 20));
+    private static final int FLIGHTS = 100;
+    private static final int SEATS_PER_FLIGHT = 600;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private FlightService flightService;
+
+    @Autowired
+    private Environment environment;
+
+    @Value("${jwt.secret}")
+    private String secret;
+
+    @Test
+    void bookingThroughputUnderConcurrentClients() throws Exception {
+        List<Long> flightIds = new ArrayList<>(FLIGHTS);
+        for (int i = 0; i < FLIGHTS; i++) {
+            flightIds.add(flightService.addFlight(newFlight(i)).getId());
+        }
+        String authorization = "Bearer " + Jwts.builder()
+                .subject("load@example.com")
+                .claim("role", "PASSENGER")
+                .expiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret)))
+                .compact();
+
+        HttpClient client = HttpClient.newBuilder().executor(Executors.newFixedThreadPool(8)).build();
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger failures = new AtomicInteger();
+        List<Future<long[]>> results = new ArrayList<>(CLIENTS);
+        for (int c = 0; c < CLIENTS; c++) {
+            results.add(clients.submit(() -> {
+                long[] latencies = new long[16];
+                int booked = 0;
+                start.await();
+                long deadline = System.nanoTime() + DURATION.toNanos();
+                while (System.nanoTime() < deadline) {
+                    Long flightId = flightIds.get(ThreadLocalRandom.current().nextInt(FLIGHTS));
+                    HttpRequest request = HttpRequest.newBuilder(
+                                    URI.create("http://localhost:" + port + "/flights/book-seats?flightId=" + flightId))
+                            .header("Authorization", authorization)
+                            .PUT(HttpRequest.BodyPublishers.noBody())
+                            .build();
+                    long begin = System.nanoTime();
+                    HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() == 200) {
+                        if (booked == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, booked * 2);
+                        }
+                        latencies[booked++] = System.nanoTime() - begin;
+                    } else {
+                        failures.incrementAndGet();
+                    }
+                }
+                return Arrays.copyOf(latencies, booked);
+            }));
+        }
+        start.countDown();
+
+        long[] all = new long[0];
+        for (Future<long[]> result : results) {
+            long[] latencies = result.get(DURATION.toSeconds() + 120, TimeUnit.SECONDS);
+            int offset = all.length;
+            all = Arrays.copyOf(all, offset + latencies.length);
+            System.arraycopy(latencies, 0, all, offset, latencies.length);
+        }
+        clients.shutdown();
+        Arrays.sort(all);
+
+        String mode = Threading.VIRTUAL.isActive(environment) ? "virtual" : "platform";
+        System.out.printf("%s threads, %,d clients: %,.0f bookings/s  p50 %.1f ms  p99 %.1f ms  %,d failed%n",
+                mode, CLIENTS, all.length / (double) DURATION.toSeconds(),
+                percentile(all, 0.50), percentile(all, 0.99), failures.get());
+        assertTrue(all.length > 0);
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        return sorted.length == 0 ? 0 : sorted[(int) Math.min(sorted.length - 1, sorted.length * p)] / 1_000_000.0;
+    }
+
+    private static Flight newFlight(int i) {
+        return TestFlights.newFlight("LoadAir", LocalDateTime.now().plusDays(10).plusMinutes(i), 4000,
+                SEATS_PER_FLIGHT);
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.flight_service.benchmark;
+
+import com.example.flight_service.dto.FlightDTO;
+import com.example.flight_service.repository.FlightRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Entity loading vs FlightDTO projection for the listing endpoints; run with mvn test -Pbenchmark
+@Tag("benchmark")
+@SpringBootTest
+class FlightListingBenchmarkTest {
+
+    private static final int WARMUP = 2;
+    private static final int MEASURED = 5;
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @ParameterizedTest
+    @ValueSource(ints = {10_000, 100_000})
+    void compareEntityAndProjectionListing(int catalogSize) {
+        seed(catalogSize);
+
+        Result entity = measure(this::listViaEntities);
+        Result projection = measure(flightRepository::findAllFlightDTOs);
+
+        System.out.printf("%,d flights  entity: %6.1f ms %8.1f MB/op  projection: %6.1f ms %8.1f MB/op%n",
+                catalogSize, entity.medianMillis, entity.allocatedMb, projection.medianMillis, projection.allocatedMb);
+        assertTrue(projection.allocatedMb < entity.allocatedMb);
+    }
+
+    // The listing path as it was before projections: managed entities copied into DTOs
+    private List<FlightDTO> listViaEntities() {
+        return flightRepository.findAll().stream()
+                .map(flight -> FlightDTO.builder()
+                        .id(flight.getId())
+                        .airline(flight.getAirline())
+                        .departure(flight.getDeparture())
+                        .destination(flight.getDestination())
+                        .departureTime(flight.getDepartureTime())
+                        .arrivalTime(flight.getArrivalTime())
+                        .availableSeats(flight.getAvailableSeats())
+                        .price(flight.getPrice())
+                        .build())
+                .toList();
+    }
+
+    private Result measure(Supplier<List<FlightDTO>> listing) {
+        for (int i = 0; i < WARMUP; i++) {
+            listing.get();
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        double[] millis = new double[MEASURED];
+        long allocated = 0;
+        for (int i = 0; i < MEASURED; i++) {
+            long bytesBefore = threads.getThreadAllocatedBytes(threadId);
+            long start = System.nanoTime();
+            listing.get();
+            millis[i] = (System.nanoTime() - start) / 1_000_000.0;
+            allocated += threads.getThreadAllocatedBytes(threadId) - bytesBefore;
+        }
+        Arrays.sort(millis);
+        return new Result(millis[MEASURED / 2], allocated / (double) MEASURED / (1024 * 1024));
+    }
+
+    private void seed(int catalogSize) {
+        jdbcTemplate.update("delete from seats");
+        jdbcTemplate.update("delete from flights");
+        LocalDateTime base = LocalDateTime.now().plusDays(1);
+        List<Object[]> rows = new ArrayList<>(1_000);
+        for (int i = 0; i < catalogSize; i++) {
+            rows.add(new Object[]{"Air" + (i % 20), "DEL", "BOM",
+                    Timestamp.valueOf(base.plusMinutes(i)), Timestamp.valueOf(base.plusMinutes(i + 120)),
+                    i % 180, 2000.0 + i % 500, 180});
+            if (rows.size() == 1_000) {
+                insert(rows);
+            }
+        }
+        insert(rows);
+    }
+
+    private void insert(List<Object[]> rows) {
+        jdbcTemplate.batchUpdate("insert into flights (id, airline, departure, destination, departure_time, "
+                + "arrival_time, available_seats, price, total_seats, version) "
+                + "values (next value for flights_seq, ?, ?, ?, ?, ?, ?, ?, ?, 0)", rows);
+        rows.clear();
+    }
+
+    private record Result(double medianMillis, double allocatedMb) {
+    }
+}
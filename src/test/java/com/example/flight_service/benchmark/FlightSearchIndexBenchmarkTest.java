@@ -0,0 +1,89 @@
+package com.example.flight_service.benchmark;
+
+import com.example.flight_service.dto.FlightDTO;
+import com.example.flight_service.service.FlightSearchIndex;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Route search latency of the in-memory index under concurrent readers and a booking writer; run with mvn test -Pbenchmark
+@Tag("benchmark")
+class FlightSearchIndexBenchmarkTest {
+
+    private static final String[] AIRPORTS = {"DEL", "BOM", "BLR", "MAA", "CCU", "HYD", "GOI", "PNQ", "AMD", "COK",
+            "JAI", "LKO", "IXC", "GAU"};
+    private static final int FLIGHTS = 100_000;
+    private static final int READERS = 16;
+    private static final int QUERIES_PER_READER = 50_000;
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Test
+    void searchLatencyUnderConcurrentLoad() throws Exception {
+        FlightSearchIndex index = new FlightSearchIndex(true, FLIGHTS);
+        for (long id = 1; id <= FLIGHTS; id++) {
+            String departure = AIRPORTS[(int) (id % AIRPORTS.length)];
+            String destination = AIRPORTS[(int) ((id / AIRPORTS.length) % AIRPORTS.length)];
+            LocalDateTime departureTime = BASE.plusMinutes(id * 7 % (180 * 24 * 60));
+            index.upsert(new FlightDTO(id, "BenchAir", departure, destination, departureTime,
+                    departureTime.plusHours(2), (int) (id % 180), 2000 + id % 5000));
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(READERS + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<long[]>> readers = new ArrayList<>();
+        for (int r = 0; r < READERS; r++) {
+            readers.add(pool.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long[] latencies = new long[QUERIES_PER_READER];
+                start.await();
+                for (int q = 0; q < QUERIES_PER_READER; q++) {
+                    String departure = AIRPORTS[random.nextInt(AIRPORTS.length)];
+                    String destination = AIRPORTS[random.nextInt(AIRPORTS.length)];
+                    LocalDateTime from = BASE.plusDays(random.nextInt(170));
+                    long begin = System.nanoTime();
+                    index.search(departure, destination, from, from.plusDays(7), 1, 6000, from, 0, 51);
+                    latencies[q] = System.nanoTime() - begin;
+                }
+                return latencies;
+            }));
+        }
+        Future<?> writer = pool.submit(() -> {
+            start.await();
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < QUERIES_PER_READER; i++) {
+                index.adjustAvailableSeats(random.nextLong(1, FLIGHTS + 1), random.nextBoolean() ? 1 : -1);
+            }
+            return null;
+        });
+        start.countDown();
+
+        long[] all = new long[READERS * QUERIES_PER_READER];
+        int offset = 0;
+        for (Future<long[]> reader : readers) {
+            long[] latencies = reader.get();
+            System.arraycopy(latencies, 0, all, offset, latencies.length);
+            offset += latencies.length;
+        }
+        writer.get();
+        pool.shutdown();
+
+        Arrays.sort(all);
+        double p50 = all[all.length / 2] / 1_000.0;
+        double p99 = all[(int) (all.length * 0.99)] / 1_000.0;
+        double p999 = all[(int) (all.length * 0.999)] / 1_000.0;
+        System.out.printf("In-memory search, %,d flights, %d readers: p50 %.1f us, p99 %.1f us, p99.9 %.1f us%n",
+                FLIGHTS, READERS, p50, p99, p999);
+        assertTrue(p99 < 1_000, "p99 should stay under a millisecond");
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.flight_service.benchmark;
+
+import com.example.flight_service.service.JWTService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Per-request JWT work in JwtFilter before (three full parses, key rebuilt each time) and after (cached claims);
+// run with mvn test -Pbenchmark
+@Tag("benchmark")
+class JwtVerificationBenchmarkTest {
+
+    private static final String SECRET = "TXlTdXBlclNlY3JldEtleUZvckpXVE15U3VwZXJTZWNyZXRLZXlGb3JKV1Q=";
+    private static final int WARMUP = 20_000;
+    private static final int MEASURED = 200_000;
+
+    @Test
+    void compareUncachedAndCachedVerification() {
+        String token = Jwts.builder()
+                .subject("bench@example.com")
+                .claim("role", "PASSENGER")
+                .expiration(new Date(System.currentTimeMillis() + 3_600_000))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)))
+                .compact();
+        JWTService jwtService = new JWTService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", SECRET);
+        ReflectionTestUtils.invokeMethod(jwtService, "init");
+
+        double uncached = nanosPerRequest(t -> {
+            // What doFilterInternal cost before: extractUsername, extractRole, validateToken (x2)
+            for (int i = 0; i < 4; i++) {
+                parse(t);
+            }
+        }, token);
+        double cached = nanosPerRequest(jwtService::verify, token);
+
+        System.out.printf("JWT per request  uncached: %8.0f ns  cached: %8.0f ns%n", uncached, cached);
+        assertTrue(cached < uncached);
+    }
+
+    private static Claims parse(String token) {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    private static double nanosPerRequest(Consumer<String> request, String token) {
+        for (int i = 0; i < WARMUP; i++) {
+            request.accept(token);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED; i++) {
+            request.accept(token);
+        }
+        return (System.nanoTime() - start) / (double) MEASURED;
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.flight_service.controller;
+
+import com.example.flight_service.dto.SeatMapDTO;
+import com.example.flight_service.entity.FlightDetails;
+import com.example.flight_service.entity.SeatStatus;
+import com.example.flight_service.service.AvailabilityBroadcaster;
+import com.example.flight_service.service.DependencyUnavailableException;
+import com.example.flight_service.service.FlightService;
+import com.example.flight_service.service.SeatMapSnapshots;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static com.example.flight_service.TestFlights.newFlight;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.reset;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Pushes are driven by hand so that what gets coalesced into one event is deterministic; their writes still
+// happen on the writer threads, so assertions wait for them
+@SpringBootTest(properties = "flight.availability.push-interval-ms=3600000")
+@AutoConfigureMockMvc
+@WithMockUser(roles = "PASSENGER")
+class AvailabilityStreamTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private FlightService flightService;
+
+    @Autowired
+    private AvailabilityBroadcaster availabilityBroadcaster;
+
+    @MockitoSpyBean
+    private SeatMapSnapshots seatMapSnapshots;
+
+    private Integer flightId;
+
+    @BeforeEach
+    void setUp() {
+        flightId = flightService.addFlight(newFlight(12)).getId().intValue();
+    }
+
+    @Test
+    void testStream_ShouldStartWithFullSeatMap() throws Exception {
+        List<SeatMapDTO> events = events(subscribe());
+
+        assertEquals(1, events.size());
+        assertFalse(events.get(0).isDelta());
+        assertEquals(12, events.get(0).getSeats().size());
+        assertEquals(12, events.get(0).getAvailableSeats());
+        assertEquals(1, availabilityBroadcaster.subscriberCount(flightId.longValue()));
+    }
+
+    @Test
+    void testBookingBurst_ShouldBeCoalescedIntoOneDeltaPerSubscriber() throws Exception {
+        MockHttpServletResponse first = subscribe();
+        MockHttpServletResponse second = subscribe();
+        FlightDetails a = flightService.bookSeat(flightId);
+        FlightDetails b = flightService.bookSeat(flightId);
+        FlightDetails c = flightService.bookSeat(flightId);
+
+        availabilityBroadcaster.push();
+        availabilityBroadcaster.push();
+
+        for (MockHttpServletResponse response : List.of(first, second)) {
+            List<SeatMapDTO> events = awaitEvents(response, 2);
+            assertEquals(2, events.size());
+            SeatMapDTO delta = events.get(1);
+            assertTrue(delta.isDelta());
+            assertEquals(9, delta.getAvailableSeats());
+            assertEquals(Map.of(a.getSeatNumber(), SeatStatus.BOOKED, b.getSeatNumber(), SeatStatus.BOOKED,
+                    c.getSeatNumber(), SeatStatus.BOOKED), delta.getSeats());
+        }
+    }
+
+    @Test
+    void testSeatMapLookupFailure_ShouldKeepStreamOpenAndRetry() throws Exception {
+        MockHttpServletResponse response = subscribe();
+        FlightDetails booked = flightService.bookSeat(flightId);
+        doThrow(new DependencyUnavailableException("database is unavailable"))
+                .when(seatMapSnapshots).find(flightId.longValue(), null);
+
+        availabilityBroadcaster.push();
+        Thread.sleep(300);
+        assertEquals(1, availabilityBroadcaster.subscriberCount(flightId.longValue()));
+        assertEquals(1, events(response).size());
+
+        reset(seatMapSnapshots);
+        availabilityBroadcaster.push();
+        assertEquals(Map.of(booked.getSeatNumber(), SeatStatus.BOOKED), awaitEvents(response, 2).get(1).getSeats());
+    }
+
+    @Test
+    void testDeletedFlight_ShouldCloseItsStreams() throws Exception {
+        subscribe();
+        flightService.deleteFlight(flightId);
+
+        availabilityBroadcaster.push();
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (availabilityBroadcaster.subscriberCount(flightId.longValue()) > 0
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(0, availabilityBroadcaster.subscriberCount(flightId.longValue()));
+    }
+
+    @Test
+    void testStreamOfUnknownFlight_ShouldReturnNotFound() throws Exception {
+        mockMvc.perform(get("/flights/availability/stream").param("flightIds", flightId.toString(), "999999"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testStreamOfTooManyFlights_ShouldBeRejected() throws Exception {
+        String[] flightIds = new String[21];
+        for (int i = 0; i < flightIds.length; i++) {
+            flightIds[i] = String.valueOf(i + 1);
+        }
+        mockMvc.perform(get("/flights/availability/stream").param("flightIds", flightIds))
+                .andExpect(status().isBadRequest());
+    }
+
+    private MockHttpServletResponse subscribe() throws Exception {
+        return mockMvc.perform(get("/flights/availability/stream").param("flightIds", flightId.toString()))
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse();
+    }
+
+    private List<SeatMapDTO> awaitEvents(MockHttpServletResponse response, int count) throws Exception {
+        long deadline = System.currentTimeMillis() + 5_000;
+        List<SeatMapDTO> events = events(response);
+        while (events.size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            events = events(response);
+        }
+        return events;
+    }
+
+    private List<SeatMapDTO> events(MockHttpServletResponse response) throws Exception {
+        List<SeatMapDTO> events = new ArrayList<>();
+        for (String line : response.getContentAsString().split("\n")) {
+            if (line.startsWith("data:")) {
+                events.add(objectMapper.readValue(line.substring("data:".length()), SeatMapDTO.class));
+            }
+        }
+        return events;
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.flight_service.controller;
+
+import com.example.flight_service.entity.FlightDetails;
+import com.example.flight_service.repository.FlightRepository;
+import com.example.flight_service.service.FlightService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+
+import static com.example.flight_service.TestFlights.newFlight;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser(roles = "PASSENGER")
+class BookingIdempotencyTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private FlightService flightService;
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    private Integer flightId;
+
+    @BeforeEach
+    void setUp() {
+        flightId = flightService.addFlight(newFlight(6)).getId().intValue();
+    }
+
+    @Test
+    void testRetriedBooking_ShouldReturnTheSameSeatAndBookOnlyOnce() throws Exception {
+        String key = "retry-" + flightId;
+        FlightDetails first = seatOf(book(key));
+        FlightDetails retry = seatOf(book(key));
+        FlightDetails other = seatOf(book("other-" + flightId));
+
+        assertEquals(first.getSeatNumber(), retry.getSeatNumber());
+        assertNotEquals(first.getSeatNumber(), other.getSeatNumber());
+        assertEquals(4, flightRepository.findById(flightId).orElseThrow().getAvailableSeats());
+    }
+
+    @Test
+    void testKeyReusedForAnotherRequest_ShouldBeRejected() throws Exception {
+        String key = "reused-" + flightId;
+        book(key);
+
+        mockMvc.perform(put("/flights/book-seats/batch").param("flightId", flightId.toString()).param("count", "2")
+                        .header("Idempotency-Key", key))
+                .andExpect(status().isBadRequest());
+        assertEquals(5, flightRepository.findById(flightId).orElseThrow().getAvailableSeats());
+    }
+
+    @Test
+    void testRetriedCancellation_ShouldSucceedAgainWithoutError() throws Exception {
+        FlightDetails booked = seatOf(book(null));
+        String key = "cancel-" + flightId;
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            mockMvc.perform(put("/flights/cancel-seat").param("flightId", flightId.toString())
+                            .param("seatNumber", booked.getSeatNumber()).header("Idempotency-Key", key))
+                    .andExpect(status().isOk());
+        }
+        mockMvc.perform(put("/flights/cancel-seat").param("flightId", flightId.toString())
+                        .param("seatNumber", booked.getSeatNumber()))
+                .andExpect(status().isBadRequest());
+        assertEquals(6, flightRepository.findById(flightId).orElseThrow().getAvailableSeats());
+    }
+
+    private ResultActions book(String key) throws Exception {
+        MockHttpServletRequestBuilder request = put("/flights/book-seats").param("flightId", flightId.toString());
+        if (key != null) {
+            request.header("Idempotency-Key", key);
+        }
+        return mockMvc.perform(request).andExpect(status().isOk());
+    }
+
+    private FlightDetails seatOf(ResultActions result) throws Exception {
+        return objectMapper.readValue(result.andReturn().getResponse().getContentAsString(), FlightDetails.class);
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.flight_service.controller;
+
+import com.example.flight_service.service.DependencyUnavailableException;
+import com.example.flight_service.service.FlightService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser(roles = "PASSENGER")
+class DependencyUnavailableControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private FlightService flightService;
+
+    @Test
+    void testCircuitOpenedMidBooking_ShouldRespondServiceUnavailable() throws Exception {
+        when(flightService.bookSeat(anyInt())).thenThrow(new DependencyUnavailableException("database is unavailable"));
+
+        mockMvc.perform(put("/flights/book-seats").param("flightId", "1"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
+    @Test
+    void testRefusedLookup_ShouldNotBeReportedAsMissingFlight() throws Exception {
+        when(flightService.getFlightDetailsById(anyInt()))
+                .thenThrow(new DependencyUnavailableException("database is saturated"));
+
+        mockMvc.perform(get("/flights/getDetails").param("flightId", "1"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
+    @Test
+    void testRefusedReactiveLookup_ShouldRespondServiceUnavailable() throws Exception {
+        when(flightService.getFlightDetailsById(anyInt()))
+                .thenThrow(new DependencyUnavailableException("database is unavailable"));
+
+        MvcResult pending = mockMvc.perform(get("/flights/rx/getDetails").param("flightId", "1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+}
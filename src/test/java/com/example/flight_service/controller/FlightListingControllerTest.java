@@ -0,0 +1,147 @@
+package com.example.flight_service.controller;
+
+import com.example.flight_service.dto.FlightPageDTO;
+import com.example.flight_service.repository.FlightRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.example.flight_service.TestFlights.newFlight;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser(roles = "PASSENGER")
+class FlightListingControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    @BeforeEach
+    void setUp() {
+        flightRepository.deleteAll();
+        for (int i = 0; i < 7; i++) {
+            flightRepository.save(newFlight("Air" + i, LocalDateTime.now().plusDays(i + 1), 1000 + i,
+                    i % 2 == 0 ? 0 : 6));
+        }
+    }
+
+    @Test
+    void testAllFlightsPage_ShouldWalkEveryFlightOnceByCursor() throws Exception {
+        Set<Long> seen = new HashSet<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            MvcResult result = mockMvc.perform(get("/flights/all/page").param("size", "3")
+                            .param("cursor", cursor == null ? "" : cursor))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            FlightPageDTO page = objectMapper.readValue(result.getResponse().getContentAsString(), FlightPageDTO.class);
+            page.getFlights().forEach(flight -> assertTrue(seen.add(flight.getId())));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(7, seen.size());
+        assertEquals(3, pages);
+    }
+
+    @Test
+    void testAvailableFlightsPage_ShouldSkipFullFlights() throws Exception {
+        MvcResult result = mockMvc.perform(get("/flights/available/page").param("size", "10"))
+                .andExpect(status().isOk())
+                .andReturn();
+        FlightPageDTO page = objectMapper.readValue(result.getResponse().getContentAsString(), FlightPageDTO.class);
+
+        assertEquals(3, page.getFlights().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void testPage_WithOversizedPageOrBadCursor_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/flights/all/page").param("size", "100000")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/flights/all/page").param("cursor", "not a cursor!")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testSearch_ShouldFilterRouteWindowSeatsAndPriceInDepartureOrder() throws Exception {
+        LocalDateTime base = LocalDateTime.of(2030, 5, 1, 6, 0);
+        saveFlight("GOI", "BLR", base.plusHours(5), 6, 3000);
+        saveFlight("GOI", "BLR", base.plusHours(1), 6, 3500);
+        saveFlight("GOI", "BLR", base.plusHours(3), 6, 9000);   // too expensive
+        saveFlight("GOI", "BLR", base.plusHours(2), 0, 3000);   // sold out
+        saveFlight("GOI", "BLR", base.plusDays(2), 6, 3000);    // outside the window
+        saveFlight("BLR", "GOI", base.plusHours(4), 6, 3000);   // other direction
+        saveFlight("GOI", "BLR", base.plusHours(1), 6, 2500);   // same departure time as the second flight
+
+        List<LocalDateTime> departures = new ArrayList<>();
+        String cursor = "";
+        do {
+            MvcResult result = mockMvc.perform(get("/flights/search")
+                            .param("departure", "GOI")
+                            .param("destination", "BLR")
+                            .param("from", base.toString())
+                            .param("to", base.plusDays(1).toString())
+                            .param("maxPrice", "5000")
+                            .param("size", "1")
+                            .param("cursor", cursor))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            FlightPageDTO page = objectMapper.readValue(result.getResponse().getContentAsString(), FlightPageDTO.class);
+            page.getFlights().forEach(flight -> departures.add(flight.getDepartureTime()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(List.of(base.plusHours(1), base.plusHours(1), base.plusHours(5)), departures);
+    }
+
+    @Test
+    void testSearch_WithInvertedWindow_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/flights/search")
+                        .param("departure", "GOI")
+                        .param("destination", "BLR")
+                        .param("from", "2030-05-02T00:00:00")
+                        .param("to", "2030-05-01T00:00:00"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testAllFlightsStream_ShouldWriteOneJsonObjectPerLine() throws Exception {
+        MvcResult pending = mockMvc.perform(get("/flights/all/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        List<String> lines = result.getResponse().getContentAsString().lines().toList();
+        assertEquals(7, lines.size());
+        assertTrue(lines.get(0).startsWith("{\"id\":"));
+    }
+
+    private void saveFlight(String departure, String destination, LocalDateTime departureTime, int seats, double price) {
+        flightRepository.save(newFlight("SearchAir", departure, destination, departureTime, price, seats));
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.flight_service.controller;
+
+import com.example.flight_service.dto.FlightImportSummaryDTO;
+import com.example.flight_service.entity.Flight;
+import com.example.flight_service.repository.FlightRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.example.flight_service.TestFlights.newFlight;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser(roles = "ADMIN")
+class FlightScheduleControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    @BeforeEach
+    void setUp() {
+        flightRepository.deleteAll();
+        for (int i = 0; i < 5; i++) {
+            flightRepository.save(newFlight("Air, " + i, LocalDateTime.of(2030, 1, 1, 6, 0).plusHours(i), 1000 + i,
+                    6 * (i + 1)));
+        }
+    }
+
+    @Test
+    void testCsvExportThenImport_ShouldRecreateTheSchedule() throws Exception {
+        String csv = export("text/csv");
+        assertEquals(6, csv.lines().count());
+        assertTrue(csv.startsWith("id,airline,departure,destination,departureTime,arrivalTime,totalSeats"));
+
+        flightRepository.deleteAll();
+        FlightImportSummaryDTO summary = importSchedule("text/csv", csv);
+
+        assertEquals(5, summary.getImported());
+        List<Flight> flights = flightRepository.findAll();
+        assertEquals(5, flights.size());
+        assertTrue(flights.stream().anyMatch(flight -> flight.getAirline().equals("Air, 4")
+                && flight.getTotalSeats() == 30 && flight.getAvailableSeats() == 30));
+    }
+
+    @Test
+    void testNdjsonExportThenImport_ShouldAppendTheSchedule() throws Exception {
+        String ndjson = export(MediaType.APPLICATION_NDJSON_VALUE);
+        assertEquals(5, ndjson.lines().count());
+
+        FlightImportSummaryDTO summary = importSchedule(MediaType.APPLICATION_NDJSON_VALUE, ndjson);
+
+        assertEquals(5, summary.getImported());
+        assertEquals(10, flightRepository.count());
+    }
+
+    @Test
+    void testImport_WhenRowInvalid_ShouldReturnBadRequest() throws Exception {
+        String csv = "airline,departure,destination,departureTime,totalSeats,price\n"
+                + "AirX,DEL,BOM,2030-05-01T10:00,not-a-number,3000\n";
+
+        mockMvc.perform(post("/flights/import").contentType("text/csv").content(csv))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.imported").value(0))
+                .andExpect(jsonPath("$.error").value(startsWith("Flight #1 rejected")));
+        assertEquals(5, flightRepository.count());
+    }
+
+    @Test
+    @WithMockUser(roles = "PASSENGER")
+    void testExport_WhenNotAdmin_ShouldBeForbidden() throws Exception {
+        mockMvc.perform(get("/flights/export").accept("text/csv"))
+                .andExpect(status().isForbidden());
+    }
+
+    private String export(String mediaType) throws Exception {
+        MvcResult pending = mockMvc.perform(get("/flights/export").accept(mediaType))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    private FlightImportSummaryDTO importSchedule(String mediaType, String body) throws Exception {
+        MvcResult result = mockMvc.perform(post("/flights/import").contentType(mediaType).content(body))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return objectMapper.readValue(result.getResponse().getContentAsString(), FlightImportSummaryDTO.class);
+    }
+}
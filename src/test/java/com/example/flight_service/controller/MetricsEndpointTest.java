@@ -0,0 +1,113 @@
+package com.example.flight_service.controller;
+
+import com.example.flight_service.TestFlights;
+import com.example.flight_service.entity.Flight;
+import com.example.flight_service.service.FlightMetrics;
+import com.example.flight_service.service.FlightService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class MetricsEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private FlightService flightService;
+
+    @Test
+    @WithMockUser(roles = "PASSENGER")
+    void testBooking_ShouldCountOutcomesAndPublishSeatsRemaining() throws Exception {
+        Flight flight = flightService.addFlight(newFlight(6));
+        double succeeded = bookings("book", "success");
+        double failed = bookings("cancel", "failure");
+
+        mockMvc.perform(put("/flights/book-seats").param("flightId", flight.getId().toString()))
+                .andExpect(status().isOk());
+        mockMvc.perform(put("/flights/cancel-seat").param("flightId", flight.getId().toString())
+                        .param("seatNumber", "6F"))
+                .andExpect(status().isBadRequest());
+
+        assertEquals(succeeded + 1, bookings("book", "success"));
+        assertEquals(failed + 1, bookings("cancel", "failure"));
+        assertEquals(5, meterRegistry.get(FlightMetrics.SEATS_REMAINING)
+                .tag("flightId", flight.getId().toString()).gauge().value());
+        assertTrue(meterRegistry.get("flight.service").tag("method", "bookSeat").timer().count() > 0);
+    }
+
+    @Test
+    @WithMockUser(roles = "PASSENGER")
+    void testRequest_ShouldRecordQueryCountPerEndpoint() throws Exception {
+        Flight flight = flightService.addFlight(newFlight(6));
+
+        mockMvc.perform(get("/flights/getDetails").param("flightId", flight.getId().toString()))
+                .andExpect(status().isOk());
+
+        DistributionSummary queries = meterRegistry.get("flight.db.queries")
+                .tag("uri", "/flights/getDetails").summary();
+        assertTrue(queries.count() > 0);
+        assertTrue(queries.totalAmount() > 0);
+    }
+
+    @Test
+    void testPrometheusEndpoint_ShouldBeScrapableWithoutTokenFromScraperNetwork() throws Exception {
+        flightService.addFlight(newFlight(6));
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("flight_service_seconds")));
+        mockMvc.perform(get("/actuator/metrics"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void testPrometheusEndpoint_ShouldRefuseUnauthenticatedScrapeFromOtherNetworks() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus").with(remoteAddr("203.0.113.7")))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void testPrometheusEndpoint_ShouldAllowAdminsFromAnywhere() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus").with(remoteAddr("203.0.113.7")))
+                .andExpect(status().isOk());
+    }
+
+    private static RequestPostProcessor remoteAddr(String address) {
+        return request -> {
+            request.setRemoteAddr(address);
+            return request;
+        };
+    }
+
+    private double bookings(String operation, String outcome) {
+        return meterRegistry.counter(FlightMetrics.BOOKINGS, "operation", operation, "outcome", outcome).count();
+    }
+
+    private Flight newFlight(int totalSeats) {
+        return TestFlights.newFlight("MetricAir", LocalDateTime.now().plusDays(3), 3000, totalSeats);
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.flight_service.controller;
+
+import com.example.flight_service.dto.FlightDTO;
+import com.example.flight_service.repository.FlightRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.example.flight_service.TestFlights.newFlight;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Small publish pages so every listing spans several keyset queries
+@SpringBootTest(properties = "flight.listing.publish-page-size=3")
+@AutoConfigureMockMvc
+@WithMockUser(roles = "PASSENGER")
+class ReactiveFlightControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    private final List<Long> ids = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        flightRepository.deleteAll();
+        ids.clear();
+        for (int i = 0; i < 7; i++) {
+            ids.add(flightRepository.save(newFlight("Rx" + i, LocalDateTime.now().plusDays(i + 1), 1000 + i,
+                    i % 2 == 0 ? 0 : 6)).getId());
+        }
+    }
+
+    @Test
+    void testAllFlights_ShouldStreamEveryFlightAsNdjsonInIdOrder() throws Exception {
+        List<String> lines = stream("/flights/rx/all", MediaType.APPLICATION_NDJSON)
+                .lines().toList();
+
+        assertEquals(7, lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            assertEquals(ids.get(i), objectMapper.readValue(lines.get(i), FlightDTO.class).getId());
+        }
+    }
+
+    @Test
+    void testAvailableFlights_ShouldStreamServerSentEvents() throws Exception {
+        List<String> events = stream("/flights/rx/available", MediaType.TEXT_EVENT_STREAM).lines()
+                .filter(line -> line.startsWith("data:"))
+                .toList();
+
+        assertEquals(3, events.size());
+        for (String event : events) {
+            assertTrue(objectMapper.readValue(event.substring(5), FlightDTO.class).getAvailableSeats() > 0);
+        }
+    }
+
+    @Test
+    void testGetDetails_ShouldReturnDetailsOrNotFound() throws Exception {
+        MvcResult found = mockMvc.perform(get("/flights/rx/getDetails").param("flightId", ids.get(1).toString()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(found)).andExpect(status().isOk());
+
+        MvcResult missing = mockMvc.perform(get("/flights/rx/getDetails").param("flightId", "999999"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(missing)).andExpect(status().isNotFound());
+    }
+
+    private String stream(String path, MediaType accept) throws Exception {
+        MvcResult pending = mockMvc.perform(get(path).accept(accept))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.flight_service.controller;
+
+import com.example.flight_service.dto.SeatMapDTO;
+import com.example.flight_service.entity.FlightDetails;
+import com.example.flight_service.entity.SeatStatus;
+import com.example.flight_service.service.FlightService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.Map;
+
+import static com.example.flight_service.TestFlights.newFlight;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser(roles = "PASSENGER")
+class SeatMapControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private FlightService flightService;
+
+    private Integer flightId;
+
+    @BeforeEach
+    void setUp() {
+        flightId = flightService.addFlight(newFlight(12)).getId().intValue();
+    }
+
+    @Test
+    void testSeatMap_ShouldListEverySeatWithVersionETag() throws Exception {
+        MvcResult result = mockMvc.perform(get("/flights/" + flightId + "/seat-map"))
+                .andExpect(status().isOk())
+                .andReturn();
+        SeatMapDTO seatMap = objectMapper.readValue(result.getResponse().getContentAsString(), SeatMapDTO.class);
+
+        assertFalse(seatMap.isDelta());
+        assertEquals(12, seatMap.getSeats().size());
+        assertEquals(SeatStatus.AVAILABLE, seatMap.getSeats().get("2F"));
+        assertEquals("\"" + seatMap.getVersion() + "\"", result.getResponse().getHeader("ETag"));
+    }
+
+    @Test
+    void testUnchangedSeatMap_ShouldReturnNotModified() throws Exception {
+        String eTag = mockMvc.perform(get("/flights/" + flightId + "/seat-map"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/flights/" + flightId + "/seat-map").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", eTag));
+
+        flightService.bookSeat(flightId);
+        mockMvc.perform(get("/flights/" + flightId + "/seat-map").header("If-None-Match", eTag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testWeakOrListedETag_ShouldStillReturnNotModified() throws Exception {
+        String eTag = mockMvc.perform(get("/flights/" + flightId + "/seat-map"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/flights/" + flightId + "/seat-map").header("If-None-Match", "W/" + eTag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/flights/" + flightId + "/seat-map").header("If-None-Match", "\"0-gzip\", " + eTag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void testSeatMapSinceUnobservedVersion_ShouldReturnFullMap() throws Exception {
+        SeatMapDTO before = seatMap(null);
+        flightService.bookSeat(flightId);
+        flightService.bookSeat(flightId);
+        SeatMapDTO after = seatMap(null);
+        assertTrue(after.getVersion() > before.getVersion() + 1);
+
+        // As if the client got this version from another node: this one never saw it, so it cannot diff from it
+        SeatMapDTO response = seatMap(before.getVersion() + 1);
+
+        assertFalse(response.isDelta());
+        assertEquals(12, response.getSeats().size());
+        assertTrue(seatMap(before.getVersion()).isDelta());
+    }
+
+    @Test
+    void testSeatMapSinceVersion_ShouldReturnOnlyChangedSeats() throws Exception {
+        SeatMapDTO before = seatMap(null);
+        FlightDetails booked = flightService.bookSeat(flightId);
+        SeatMapDTO delta = seatMap(before.getVersion());
+
+        assertTrue(delta.isDelta());
+        assertTrue(delta.getVersion() > before.getVersion());
+        assertEquals(Map.of(booked.getSeatNumber(), SeatStatus.BOOKED), delta.getSeats());
+
+        SeatMapDTO unchanged = seatMap(delta.getVersion());
+        assertTrue(unchanged.isDelta());
+        assertTrue(unchanged.getSeats().isEmpty());
+    }
+
+    @Test
+    void testSeatMapOfUnknownFlight_ShouldReturnNotFound() throws Exception {
+        mockMvc.perform(get("/flights/999999/seat-map"))
+                .andExpect(status().isNotFound());
+    }
+
+    private SeatMapDTO seatMap(Long since) throws Exception {
+        var request = get("/flights/" + flightId + "/seat-map");
+        if (since != null) {
+            request.param("since", since.toString());
+        }
+        String body = mockMvc.perform(request).andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(body, SeatMapDTO.class);
+    }
+}
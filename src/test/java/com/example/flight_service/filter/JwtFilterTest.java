@@ -1,6 +1,8 @@
 package com.example.flight_service.filter;
 
 import com.example.flight_service.service.JWTService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -10,6 +12,8 @@ import org.mockito.*;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 
+import java.util.Date;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -43,9 +47,7 @@ class JwtFilterTest {
         String role = "ADMIN";
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtService.extractUsername(token)).thenReturn(username);
-        when(jwtService.extractRole(token)).thenReturn(role);
-        when(jwtService.validateToken(eq(token), any())).thenReturn(true);
+        when(jwtService.verify(token)).thenReturn(claims(username, role));
 
         jwtFilter.doFilterInternal(request, response, filterChain);
 
@@ -56,18 +58,16 @@ class JwtFilterTest {
                 authority -> authority.getAuthority().equals("ROLE_ADMIN")));
 
         verify(filterChain).doFilter(request, response);
+        verify(jwtService, times(1)).verify(token);
+        verifyNoMoreInteractions(jwtService);
     }
 
     @Test
     void testInvalidToken_doesNotAuthenticate() throws Exception {
         String token = "invalid.token";
-        String username = "test@example.com";
-        String role = "PASSENGER";
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtService.extractUsername(token)).thenReturn(username);
-        when(jwtService.extractRole(token)).thenReturn(role);
-        when(jwtService.validateToken(eq(token), any())).thenReturn(false);
+        when(jwtService.verify(token)).thenThrow(new RuntimeException("Token expired"));
 
         jwtFilter.doFilterInternal(request, response, filterChain);
 
@@ -88,11 +88,19 @@ class JwtFilterTest {
     @Test
     void testExceptionDuringParsing_logsErrorAndContinues() throws Exception {
         when(request.getHeader("Authorization")).thenReturn("Bearer bad.token");
-        when(jwtService.extractUsername(any())).thenThrow(new RuntimeException("JWT parse failed"));
+        when(jwtService.verify(any())).thenThrow(new RuntimeException("JWT parse failed"));
 
         jwtFilter.doFilterInternal(request, response, filterChain);
 
         assertNull(SecurityContextHolder.getContext().getAuthentication());
         verify(filterChain).doFilter(request, response);
     }
+
+    private static Claims claims(String username, String role) {
+        return Jwts.claims()
+                .subject(username)
+                .add("role", role)
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .build();
+    }
 }
@@ -0,0 +1,82 @@
+package com.example.flight_service.filter;
+
+import com.example.flight_service.controller.DependencyUnavailableAdvice;
+import com.example.flight_service.service.DependencyGuard;
+import com.example.flight_service.service.DependencyUnavailableException;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class LoadSheddingFilterTest {
+
+    @InjectMocks
+    private LoadSheddingFilter loadSheddingFilter;
+
+    @Mock
+    private DependencyGuard bookingRequestGuard;
+
+    @Mock
+    private DependencyGuard queryRequestGuard;
+
+    @Mock
+    private DependencyGuard databaseGuard;
+
+    @Mock
+    private FilterChain filterChain;
+
+    @Spy
+    private DependencyUnavailableAdvice dependencyUnavailableAdvice;
+
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @BeforeEach
+    void setUp() throws Throwable {
+        MockitoAnnotations.openMocks(this);
+        when(queryRequestGuard.call(any())).thenAnswer(invocation ->
+                invocation.<DependencyGuard.Call<?, ?>>getArgument(0).run());
+        when(bookingRequestGuard.call(any())).thenAnswer(invocation ->
+                invocation.<DependencyGuard.Call<?, ?>>getArgument(0).run());
+    }
+
+    @Test
+    void testFullCompartment_ShouldRespondServiceUnavailable() throws Throwable {
+        doThrow(new DependencyUnavailableException("booking-requests is saturated")).when(bookingRequestGuard).call(any());
+        MockHttpServletRequest request = new MockHttpServletRequest("PUT", "/flights/book-seats");
+
+        loadSheddingFilter.doFilterInternal(request, response, filterChain);
+
+        assertEquals(503, response.getStatus());
+        assertEquals("1", response.getHeader("Retry-After"));
+        verify(filterChain, never()).doFilter(any(), any());
+    }
+
+    @Test
+    void testOpenDatabaseCircuit_ShouldShedBookingsButServeQueries() throws Exception {
+        when(databaseGuard.isOpen()).thenReturn(true);
+
+        loadSheddingFilter.doFilterInternal(new MockHttpServletRequest("PUT", "/flights/hold-seats"), response,
+                filterChain);
+        assertEquals(503, response.getStatus());
+
+        MockHttpServletRequest query = new MockHttpServletRequest("GET", "/flights/check-availability");
+        MockHttpServletResponse queryResponse = new MockHttpServletResponse();
+        loadSheddingFilter.doFilterInternal(query, queryResponse, filterChain);
+        assertEquals(200, queryResponse.getStatus());
+        verify(filterChain).doFilter(query, queryResponse);
+    }
+
+    @Test
+    void testIsBooking_ShouldMatchSeatMutationsOnly() {
+        assertTrue(LoadSheddingFilter.isBooking("/flights/book-seats/batch"));
+        assertTrue(LoadSheddingFilter.isBooking("/flights/hold-seats/abc/confirm"));
+        assertTrue(LoadSheddingFilter.isBooking("/flights/cancel-seat"));
+        assertFalse(LoadSheddingFilter.isBooking("/flights/search"));
+    }
+}
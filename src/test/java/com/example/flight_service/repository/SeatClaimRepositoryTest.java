@@ -0,0 +1,121 @@
+package com.example.flight_service.repository;
+
+import com.example.flight_service.entity.Flight;
+import com.example.flight_service.entity.FlightDetails;
+import com.example.flight_service.entity.Seat;
+import com.example.flight_service.entity.SeatStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.example.flight_service.TestFlights.newFlight;
+import static org.junit.jupiter.api.Assertions.*;
+
+// Each claim runs in its own committed transaction so the database, not the test, arbitrates the race
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SeatClaimRepositoryTest {
+
+    private static final int CONTENDERS = 8;
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void testTransitionSeat_ShouldLetExactlyOneContenderWin() throws Exception {
+        Long flightId = saveFlight(6);
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        List<Integer> results = race(() -> tx.execute(status ->
+                flightRepository.transitionSeat(flightId, 2, "A", "B", -1)));
+
+        assertEquals(1, results.stream().mapToInt(Integer::intValue).sum());
+        Flight flight = flightRepository.findById(flightId.intValue()).orElseThrow();
+        assertEquals("AABAAA", flight.getSeatMap());
+        assertEquals(5, flight.getAvailableSeats());
+    }
+
+    @Test
+    void testReplaceSeatMap_ShouldLetExactlyOneContenderWin() throws Exception {
+        Long flightId = saveFlight(3);
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        List<Integer> results = race(() -> tx.execute(status ->
+                flightRepository.replaceSeatMap(flightId, "AAA", "BBA", -2)));
+
+        assertEquals(1, results.stream().mapToInt(Integer::intValue).sum());
+        Flight flight = flightRepository.findById(flightId.intValue()).orElseThrow();
+        assertEquals("BBA", flight.getSeatMap());
+        assertEquals(1, flight.getAvailableSeats());
+    }
+
+    @Test
+    void testSeatRows_ShouldOnlyExistForBookedSeats() {
+        Long flightId = saveFlight(6);
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        assertTrue(seatRepository.findAll().stream().noneMatch(seat -> seat.getFlightId().equals(flightId)));
+
+        tx.executeWithoutResult(status -> seatRepository.save(Seat.builder()
+                .flightId(flightId).seatNumber("1C").status(SeatStatus.BOOKED).build()));
+        assertEquals(List.of("1C"), seatRepository.findSeatNumbersByFlightIdAndStatus(flightId, SeatStatus.BOOKED));
+
+        tx.executeWithoutResult(status -> seatRepository.deleteSeat(flightId, "1C"));
+        assertTrue(seatRepository.findSeatNumbersByFlightIdAndStatus(flightId, SeatStatus.BOOKED).isEmpty());
+    }
+
+    @Test
+    void testFindDetailsById_ShouldProjectConfirmationColumns() {
+        Long flightId = saveFlight(6);
+
+        FlightDetails details = flightRepository.findDetailsById(flightId).orElseThrow();
+
+        assertEquals("TestAir", details.getAirline());
+        assertEquals("DEL", details.getDepartureAirport());
+        assertNull(details.getSeatNumber());
+    }
+
+    private List<Integer> race(Callable<Integer> claim) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(CONTENDERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < CONTENDERS; i++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                return claim.call();
+            }));
+        }
+        start.countDown();
+        List<Integer> results = new ArrayList<>();
+        for (Future<Integer> future : futures) {
+            results.add(future.get());
+        }
+        pool.shutdown();
+        return results;
+    }
+
+    private Long saveFlight(int totalSeats) {
+        Flight flight = newFlight("TestAir", LocalDateTime.now().plusDays(1), 4500, totalSeats);
+        return flightRepository.save(flight).getId();
+    }
+}
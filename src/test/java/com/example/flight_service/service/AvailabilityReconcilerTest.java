@@ -0,0 +1,82 @@
+package com.example.flight_service.service;
+
+import com.example.flight_service.entity.Flight;
+import com.example.flight_service.repository.FlightRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+
+import static com.example.flight_service.TestFlights.newFlight;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class AvailabilityReconcilerTest {
+
+    @Autowired
+    private AvailabilityReconciler availabilityReconciler;
+
+    @Autowired
+    private FlightService flightService;
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void testReconcile_ShouldRecountDriftedFlightsFromSeatMap() {
+        Flight drifted = flightService.addFlight(newFlight(6));
+        Flight healthy = flightService.addFlight(newFlight(6));
+        flightService.bookSeats(drifted.getId().intValue(), 2);
+        flightService.bookSeat(healthy.getId().intValue());
+        jdbcTemplate.update("update flights set available_seats = 6 where id = ?", drifted.getId());
+        double before = meterRegistry.counter(FlightMetrics.AVAILABILITY_CORRECTIONS).count();
+
+        assertTrue(availabilityReconciler.reconcile() >= 1);
+
+        assertEquals(4, flightRepository.findById(drifted.getId().intValue()).orElseThrow().getAvailableSeats());
+        assertEquals(5, flightRepository.findById(healthy.getId().intValue()).orElseThrow().getAvailableSeats());
+        assertTrue(before + 1 <= meterRegistry.counter(FlightMetrics.AVAILABILITY_CORRECTIONS).count());
+        assertEquals(0, availabilityReconciler.reconcile());
+    }
+
+    @Test
+    void testProbedFlightIdBeforeCreation_ShouldStillBeBookable() {
+        long nextId = flightService.addFlight(newFlight(2)).getId() + 1;
+
+        assertFalse(flightService.isSeatAvailable((int) nextId));
+        Flight added = flightService.addFlight(newFlight(2));
+
+        assertEquals(nextId, added.getId());
+        assertTrue(flightService.isSeatAvailable((int) nextId));
+        assertNotNull(flightService.bookSeat((int) nextId).getSeatNumber());
+    }
+
+    @Test
+    void testSeatFreedOnAnotherNode_ShouldBeReloadedIntoSeatIndex() {
+        Flight flight = flightService.addFlight(newFlight(1));
+        int flightId = flight.getId().intValue();
+        flightService.bookSeat(flightId);
+        assertFalse(flightService.isSeatAvailable(flightId));
+        assertEquals(0, availabilityReconciler.refreshSeatIndex());
+
+        // What a cancellation on another node leaves behind
+        jdbcTemplate.update("delete from seats where flight_id = ?", flight.getId());
+        jdbcTemplate.update("update flights set seat_map = 'A', available_seats = 1, version = version + 1 "
+                + "where id = ?", flight.getId());
+        double before = meterRegistry.counter(FlightMetrics.AVAILABILITY_CORRECTIONS).count();
+
+        assertEquals(1, availabilityReconciler.refreshSeatIndex());
+
+        assertTrue(flightService.isSeatAvailable(flightId));
+        assertEquals(before + 1, meterRegistry.counter(FlightMetrics.AVAILABILITY_CORRECTIONS).count());
+        assertEquals("1A", flightService.bookSeat(flightId).getSeatNumber());
+    }
+}
@@ -0,0 +1,197 @@
+package com.example.flight_service.service;
+
+import com.example.flight_service.entity.Flight;
+import com.example.flight_service.entity.FlightDetails;
+import com.example.flight_service.entity.SeatStatus;
+import com.example.flight_service.repository.FlightRepository;
+import com.example.flight_service.repository.SeatRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.example.flight_service.TestFlights.newFlight;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class BookingConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS_PER_THREAD = 10;
+
+    @Autowired
+    private FlightService flightService;
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private BookingExecutor bookingExecutor;
+
+    @Test
+    void testConcurrentBookings_ShouldNeverOversell() throws Exception {
+        Flight hot = flightService.addFlight(newFlight(60));
+        Flight quiet = flightService.addFlight(newFlight(30));
+
+        Set<String> hotSeats = ConcurrentHashMap.newKeySet();
+        Set<String> quietSeats = ConcurrentHashMap.newKeySet();
+        AtomicInteger duplicates = new AtomicInteger();
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            boolean onHotFlight = t % 4 != 0;
+            Flight target = onHotFlight ? hot : quiet;
+            Set<String> booked = onHotFlight ? hotSeats : quietSeats;
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                    try {
+                        FlightDetails details = flightService.bookSeat(target.getId().intValue());
+                        if (!booked.add(details.getSeatNumber())) {
+                            duplicates.incrementAndGet();
+                        }
+                    } catch (RuntimeException e) {
+                        // Sold out or busy; either way nothing was booked
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        assertEquals(0, duplicates.get());
+        assertEquals(60, hotSeats.size());
+        assertEquals(30, quietSeats.size());
+        assertSoldOut(hot.getId());
+        assertSoldOut(quiet.getId());
+    }
+
+    @Test
+    void testConcurrentBookAndCancel_ShouldKeepCounterConsistent() throws Exception {
+        Flight flight = flightService.addFlight(newFlight(12));
+        Integer flightId = flight.getId().intValue();
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            futures.add(pool.submit(() -> {
+                for (int i = 0; i < 20; i++) {
+                    try {
+                        FlightDetails details = flightService.bookSeat(flightId);
+                        flightService.cancelSeat(flightId, details.getSeatNumber());
+                    } catch (RuntimeException e) {
+                        // Sold out or busy; retry on the next iteration
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        Flight reloaded = flightRepository.findById(flightId).orElseThrow();
+        assertEquals(Flight.emptySeatMap(12), reloaded.getSeatMap());
+        assertEquals(12, reloaded.getAvailableSeats());
+        assertTrue(seatRepository.findSeatNumbersByFlightIdAndStatus(flight.getId(), SeatStatus.BOOKED).isEmpty());
+    }
+
+    @Test
+    void testConcurrentGroupBookings_ShouldSeatEachPartyTogether() throws Exception {
+        Flight flight = flightService.addFlight(newFlight(48));
+        Integer flightId = flight.getId().intValue();
+        Set<String> booked = ConcurrentHashMap.newKeySet();
+        AtomicInteger duplicates = new AtomicInteger();
+        AtomicInteger splitParties = new AtomicInteger();
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            futures.add(pool.submit(() -> {
+                for (int i = 0; i < 3; i++) {
+                    try {
+                        List<FlightDetails> party = flightService.bookSeats(flightId, 3);
+                        long rows = party.stream()
+                                .map(d -> d.getSeatNumber().substring(0, d.getSeatNumber().length() - 1))
+                                .distinct().count();
+                        if (rows != 1) {
+                            splitParties.incrementAndGet();
+                        }
+                        party.forEach(d -> {
+                            if (!booked.add(d.getSeatNumber())) {
+                                duplicates.incrementAndGet();
+                            }
+                        });
+                    } catch (RuntimeException e) {
+                        // Busy; nothing was booked
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        assertEquals(0, duplicates.get());
+        assertEquals(0, splitParties.get());
+        Flight reloaded = flightRepository.findById(flightId).orElseThrow();
+        assertEquals(48 - booked.size(), reloaded.getAvailableSeats());
+    }
+
+    @Test
+    void testLockedFlight_ShouldNotBlockAnyOtherFlight() throws Exception {
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        Future<?> holder = pool.submit(() -> bookingExecutor.execute(1, () -> {
+            locked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        }));
+        assertTrue(locked.await(5, TimeUnit.SECONDS));
+
+        // 65 shared a stripe with 1 when locks were striped 64 ways
+        for (int flightId = 2; flightId <= 129; flightId++) {
+            Integer other = flightId;
+            assertEquals(other, bookingExecutor.execute(other, () -> other));
+        }
+
+        release.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+        pool.shutdown();
+    }
+
+    private void assertSoldOut(Long flightId) {
+        Flight reloaded = flightRepository.findById(flightId.intValue()).orElseThrow();
+        assertEquals(0, reloaded.getAvailableSeats());
+        assertEquals(-1, reloaded.getSeatMap().indexOf(SeatStatus.AVAILABLE.code()));
+        assertEquals(reloaded.getTotalSeats(),
+                seatRepository.findSeatNumbersByFlightIdAndStatus(flightId, SeatStatus.BOOKED).size());
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.flight_service.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DependencyGuardTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void testFullBulkhead_ShouldRejectWithoutCalling() throws Exception {
+        DependencyGuard guard = new DependencyGuard("test", 1, Duration.ofMillis(10), e -> true, 10, 50,
+                Duration.ofSeconds(10), meterRegistry);
+        CountDownLatch inside = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        Future<String> occupant = pool.submit(() -> guard.call(() -> {
+            inside.countDown();
+            release.await();
+            return "done";
+        }));
+        assertTrue(inside.await(5, TimeUnit.SECONDS));
+
+        assertThrows(DependencyUnavailableException.class, () -> guard.call(() -> fail("must not run")));
+        assertEquals(1.0, meterRegistry.get("flight.dependency.saturation").tag("dependency", "test").gauge().value());
+
+        release.countDown();
+        assertEquals("done", occupant.get(5, TimeUnit.SECONDS));
+        pool.shutdown();
+        assertEquals("ok", guard.call(() -> "ok"));
+        assertEquals(1, meterRegistry.get("flight.dependency.rejected").tag("reason", "bulkhead").counter().count());
+    }
+
+    @Test
+    void testFailingDependency_ShouldOpenCircuitAndRecoverAfterProbe() throws Exception {
+        DependencyGuard guard = new DependencyGuard("test", 0, Duration.ZERO, e -> e instanceof QueryTimeoutException,
+                4, 50, Duration.ofMillis(200), meterRegistry);
+        guard.call(() -> "ok");
+        guard.call(() -> "ok");
+        failWith(guard, new QueryTimeoutException("slow"));
+        assertEquals(DependencyGuard.State.CLOSED, guard.state());
+        failWith(guard, new QueryTimeoutException("slow"));
+
+        assertTrue(guard.isOpen());
+        assertThrows(DependencyUnavailableException.class, () -> guard.call(() -> fail("must not run")));
+
+        Thread.sleep(250);
+        assertEquals(DependencyGuard.State.HALF_OPEN, guard.state());
+        assertEquals("ok", guard.call(() -> "ok"));
+        assertEquals(DependencyGuard.State.CLOSED, guard.state());
+    }
+
+    @Test
+    void testFailedProbe_ShouldReopenCircuit() throws Exception {
+        DependencyGuard guard = new DependencyGuard("test", 0, Duration.ZERO, e -> e instanceof QueryTimeoutException,
+                2, 50, Duration.ofMillis(100), meterRegistry);
+        failWith(guard, new QueryTimeoutException("slow"));
+        failWith(guard, new QueryTimeoutException("slow"));
+        Thread.sleep(150);
+
+        failWith(guard, new QueryTimeoutException("still slow"));
+
+        assertTrue(guard.isOpen());
+    }
+
+    @Test
+    void testErrorsThatAreNotFailures_ShouldKeepCircuitClosed() {
+        DependencyGuard guard = new DependencyGuard("test", 0, Duration.ZERO, e -> e instanceof QueryTimeoutException,
+                2, 50, Duration.ofSeconds(10), meterRegistry);
+        for (int i = 0; i < 5; i++) {
+            assertThrows(OptimisticLockingFailureException.class, () -> guard.call(() -> {
+                throw new OptimisticLockingFailureException("conflict");
+            }));
+        }
+        assertEquals(DependencyGuard.State.CLOSED, guard.state());
+    }
+
+    @Test
+    void testConcurrentCalls_ShouldKeepWindowCountExact() throws Exception {
+        DependencyGuard guard = new DependencyGuard("test", 0, Duration.ZERO, e -> e instanceof QueryTimeoutException,
+                100, 50, Duration.ofSeconds(10), meterRegistry);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        Future<?>[] callers = new Future<?>[8];
+        for (int t = 0; t < callers.length; t++) {
+            callers[t] = pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < 500; i++) {
+                    if (i % 50 == 25) {
+                        failWith(guard, new QueryTimeoutException("slow"));
+                    } else {
+                        guard.call(() -> "ok");
+                    }
+                }
+                for (int i = 0; i < 100; i++) {
+                    guard.call(() -> "ok");
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        for (Future<?> caller : callers) {
+            caller.get(10, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+        assertEquals(DependencyGuard.State.CLOSED, guard.state());
+
+        for (int i = 0; i < 49; i++) {
+            failWith(guard, new QueryTimeoutException("slow"));
+        }
+        assertEquals(DependencyGuard.State.CLOSED, guard.state());
+        failWith(guard, new QueryTimeoutException("slow"));
+        assertTrue(guard.isOpen());
+    }
+
+    private static void failWith(DependencyGuard guard, RuntimeException failure) {
+        assertThrows(failure.getClass(), () -> guard.call(() -> {
+            throw failure;
+        }));
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.flight_service.service;
+
+import com.example.flight_service.dto.FlightEventDTO;
+import com.example.flight_service.entity.FlightEventType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileFlightEventSinkTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    void testPublish_ShouldAppendOneJsonLinePerEvent(@TempDir Path directory) throws Exception {
+        Path file = directory.resolve("events.ndjson");
+        FileFlightEventSink sink = new FileFlightEventSink(file, objectMapper);
+
+        sink.publish(List.of(event(1L, "{\"seatNumbers\":[\"1A\"],\"status\":\"BOOKED\"}")));
+        sink.publish(List.of(event(2L, "{\"seatNumbers\":[\"1A\"],\"status\":\"AVAILABLE\"}")));
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(2, lines.size());
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        assertEquals(1, first.get("id").asLong());
+        assertEquals("SEATS_CHANGED", first.get("type").asText());
+        // The stored payload is embedded as JSON, not as an escaped string
+        assertEquals("BOOKED", first.get("payload").get("status").asText());
+        assertEquals("AVAILABLE", objectMapper.readTree(lines.get(1)).get("payload").get("status").asText());
+    }
+
+    private static FlightEventDTO event(Long id, String payload) {
+        return new FlightEventDTO(id, FlightEventType.SEATS_CHANGED, 7L, LocalDateTime.now(), payload);
+    }
+}
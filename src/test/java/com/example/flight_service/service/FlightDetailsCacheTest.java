@@ -0,0 +1,106 @@
+package com.example.flight_service.service;
+
+import com.example.flight_service.config.CacheConfig;
+import com.example.flight_service.TestFlights;
+import com.example.flight_service.entity.Flight;
+import com.example.flight_service.entity.FlightDetails;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class FlightDetailsCacheTest {
+
+    @Autowired
+    private FlightService flightService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private CaffeineCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = (CaffeineCache) ((TransactionAwareCacheDecorator) cacheManager.getCache(CacheConfig.FLIGHT_DETAILS))
+                .getTargetCache();
+        cache.clear();
+    }
+
+    @Test
+    void testRepeatedLookups_ShouldBeServedFromCache() {
+        Integer flightId = newFlight("CacheAir");
+        CacheStats before = cache.getNativeCache().stats();
+
+        FlightDetails first = flightService.getFlightDetailsById(flightId);
+        FlightDetails second = flightService.getFlightDetailsById(flightId);
+
+        CacheStats delta = cache.getNativeCache().stats().minus(before);
+        assertSame(first, second);
+        assertEquals(1, delta.missCount());
+        assertEquals(1, delta.hitCount());
+    }
+
+    @Test
+    void testUpdateFlight_ShouldEvictOnlyThatFlight() {
+        Integer updatedId = newFlight("OldAir");
+        Integer untouchedId = newFlight("OtherAir");
+        flightService.getFlightDetailsById(updatedId);
+        flightService.getFlightDetailsById(untouchedId);
+
+        Flight changes = Flight.builder().airline("NewAir").departure("DEL").destination("BOM")
+                .departureTime(LocalDateTime.now().plusDays(3)).arrivalTime(LocalDateTime.now().plusDays(3).plusHours(2))
+                .availableSeats(6).price(5200).build();
+        flightService.updateFlight(updatedId, changes);
+
+        assertNull(cache.get(updatedId));
+        assertNotNull(cache.get(untouchedId));
+        assertEquals("NewAir", flightService.getFlightDetailsById(updatedId).getAirline());
+    }
+
+    @Test
+    void testUpdateInsideTransaction_ShouldEvictOnlyAfterCommit() {
+        Integer flightId = newFlight("SlowAir");
+        flightService.getFlightDetailsById(flightId);
+        Flight changes = Flight.builder().airline("FastAir").departure("DEL").destination("BOM")
+                .departureTime(LocalDateTime.now().plusDays(3)).arrivalTime(LocalDateTime.now().plusDays(3).plusHours(2))
+                .availableSeats(6).price(5200).build();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            flightService.updateFlight(flightId, changes);
+            assertNotNull(cache.get(flightId));
+        });
+
+        assertNull(cache.get(flightId));
+    }
+
+    @Test
+    void testDeleteFlight_ShouldEvictAndStopServingDetails() {
+        Integer flightId = newFlight("GoneAir");
+        flightService.getFlightDetailsById(flightId);
+
+        flightService.deleteFlight(flightId);
+
+        assertNull(cache.get(flightId));
+        assertThrows(RuntimeException.class, () -> flightService.getFlightDetailsById(flightId));
+    }
+
+    private Integer newFlight(String airline) {
+        Flight flight = flightService.addFlight(
+                TestFlights.newFlight(airline, LocalDateTime.now().plusDays(2), 4800, 6));
+        return flight.getId().intValue();
+    }
+}
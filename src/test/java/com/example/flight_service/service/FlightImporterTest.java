@@ -0,0 +1,81 @@
+package com.example.flight_service.service;
+
+import com.example.flight_service.dto.FlightImportSummaryDTO;
+import com.example.flight_service.entity.Flight;
+import com.example.flight_service.repository.FlightRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.example.flight_service.TestFlights.newFlight;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class FlightImporterTest {
+
+    @Autowired
+    private FlightImporter flightImporter;
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    @BeforeEach
+    void setUp() {
+        flightRepository.deleteAll();
+    }
+
+    @Test
+    void testImportFlights_ShouldCommitOneTransactionPerBatch() {
+        FlightImportSummaryDTO summary = flightImporter.importFlights(flights(1_203, 6).iterator());
+
+        assertEquals(1_203, summary.getImported());
+        assertEquals(3, summary.getBatches());
+        assertTrue(summary.getRowsPerSecond() > 0);
+        List<Flight> stored = flightRepository.findAll();
+        assertEquals(1_203, stored.size());
+        assertEquals(1_203, stored.stream().map(Flight::getId).distinct().count());
+        assertTrue(stored.stream().allMatch(flight -> flight.getSeatMap().equals(Flight.emptySeatMap(6))
+                && flight.getAvailableSeats() == 6));
+    }
+
+    @Test
+    void testImportFlights_ShouldIgnoreClientIds() {
+        Flight existing = flightRepository.save(flights(1, 6).get(0));
+        Flight incoming = flights(1, 12).get(0);
+        incoming.setId(existing.getId());
+
+        flightImporter.importFlights(List.of(incoming).iterator());
+
+        assertEquals(2, flightRepository.count());
+        assertEquals(6, flightRepository.findById(existing.getId().intValue()).orElseThrow().getTotalSeats());
+    }
+
+    @Test
+    void testImportFlights_WhenRowInvalid_ShouldKeepEarlierBatches() {
+        List<Flight> flights = flights(600, 6);
+        flights.get(550).setTotalSeats(Flight.MAX_SEATS + 1);
+
+        FlightImportException error = assertThrows(FlightImportException.class,
+                () -> flightImporter.importFlights(flights.iterator()));
+
+        assertTrue(error.isRejected());
+        assertTrue(error.getMessage().startsWith("Flight #551 rejected after importing 500 flights"));
+        assertEquals(500, error.getSummary().getImported());
+        assertEquals(1, error.getSummary().getBatches());
+        assertEquals(500, flightRepository.count());
+    }
+
+    private List<Flight> flights(int count, int totalSeats) {
+        LocalDateTime base = LocalDateTime.now().plusDays(1);
+        List<Flight> flights = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            flights.add(newFlight("Air" + i % 20, base.plusMinutes(i), 2000 + i % 500, totalSeats));
+        }
+        return flights;
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.flight_service.service;
+
+import com.example.flight_service.dto.FlightScheduleDTO;
+import com.example.flight_service.entity.Flight;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class FlightScheduleFormatTest {
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @InjectMocks
+    private FlightScheduleFormat flightScheduleFormat;
+
+    @Test
+    void testCsvRoundTrip_ShouldPreserveQuotedFields() throws IOException {
+        FlightScheduleDTO row = new FlightScheduleDTO(7L, "Air \"One\", Ltd", "DEL", "BOM",
+                LocalDateTime.of(2030, 1, 2, 6, 30), null, 180, 42, 4599.5);
+        StringWriter csv = new StringWriter();
+        flightScheduleFormat.writeCsvHeader(csv);
+        flightScheduleFormat.writeCsv(row, csv);
+
+        List<Flight> flights = readAll(flightScheduleFormat.readCsv(stream(csv.toString())));
+
+        assertEquals(1, flights.size());
+        Flight flight = flights.get(0);
+        assertNull(flight.getId());
+        assertEquals("Air \"One\", Ltd", flight.getAirline());
+        assertEquals(LocalDateTime.of(2030, 1, 2, 6, 30), flight.getDepartureTime());
+        assertNull(flight.getArrivalTime());
+        assertEquals(180, flight.getTotalSeats());
+        assertEquals(4599.5, flight.getPrice());
+    }
+
+    @Test
+    void testReadCsv_ShouldMatchColumnsByHeaderAndSkipBlankLines() {
+        String csv = "price,totalSeats,destination,departure,airline,departureTime\n"
+                + "3000,60,BOM,DEL,AirX,2030-05-01T10:00\n"
+                + "\n"
+                + "3500,90,GOI,BOM,AirY,2030-05-02T11:15\n";
+
+        List<Flight> flights = readAll(flightScheduleFormat.readCsv(stream(csv)));
+
+        assertEquals(List.of("AirX", "AirY"), flights.stream().map(Flight::getAirline).toList());
+        assertEquals(90, flights.get(1).getTotalSeats());
+    }
+
+    @Test
+    void testReadCsv_WhenRowInvalid_ShouldReportItsLine() {
+        String csv = "airline,departure,destination,departureTime,totalSeats,price\n"
+                + "AirX,DEL,BOM,2030-05-01T10:00,60,3000\n"
+                + "AirY,DEL,BOM,tomorrow,60,3000\n";
+        Iterator<Flight> flights = flightScheduleFormat.readCsv(stream(csv));
+        flights.next();
+
+        RuntimeException error = assertThrows(RuntimeException.class, flights::next);
+        assertEquals("Line 3: Invalid departureTime: tomorrow", error.getMessage());
+    }
+
+    @Test
+    void testReadCsv_WhenHeaderIncomplete_ShouldFailBeforeAnyRow() {
+        assertThrows(RuntimeException.class,
+                () -> flightScheduleFormat.readCsv(stream("airline,departure\nAirX,DEL\n")));
+    }
+
+    @Test
+    void testReadNdjson_ShouldParseOneFlightPerLine() {
+        String ndjson = "{\"airline\":\"AirX\",\"departure\":\"DEL\",\"destination\":\"BOM\","
+                + "\"departureTime\":\"2030-05-01T10:00:00\",\"totalSeats\":60,\"price\":3000}\n"
+                + "{\"airline\":\"AirY\",\"departure\":\"BOM\",\"destination\":\"GOI\","
+                + "\"departureTime\":\"2030-05-02T11:15:00\",\"totalSeats\":90,\"price\":3500,\"id\":99}\n";
+
+        List<Flight> flights = readAll(flightScheduleFormat.readNdjson(stream(ndjson)));
+
+        assertEquals(2, flights.size());
+        assertNull(flights.get(1).getId());
+        assertEquals(90, flights.get(1).getTotalSeats());
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<Flight> readAll(Iterator<Flight> flights) {
+        List<Flight> all = new ArrayList<>();
+        flights.forEachRemaining(all::add);
+        return all;
+    }
+}
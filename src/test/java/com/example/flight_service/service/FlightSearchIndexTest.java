@@ -0,0 +1,92 @@
+package com.example.flight_service.service;
+
+import com.example.flight_service.dto.FlightDTO;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightSearchIndexTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 5, 1, 6, 0);
+    private static final LocalDateTime END = BASE.plusDays(1);
+
+    @Test
+    void testSearch_ShouldFilterAndOrderByDepartureThenId() {
+        FlightSearchIndex index = new FlightSearchIndex(true, 100);
+        index.upsert(flight(1L, "GOI", "BLR", BASE.plusHours(5), 6, 3000));
+        index.upsert(flight(2L, "GOI", "BLR", BASE.plusHours(1), 6, 3500));
+        index.upsert(flight(3L, "GOI", "BLR", BASE.plusHours(3), 6, 9000));
+        index.upsert(flight(4L, "GOI", "BLR", BASE.plusHours(2), 0, 3000));
+        index.upsert(flight(5L, "GOI", "BLR", BASE.plusDays(2), 6, 3000));
+        index.upsert(flight(6L, "BLR", "GOI", BASE.plusHours(4), 6, 3000));
+        index.upsert(flight(7L, "GOI", "BLR", BASE.plusHours(1), 6, 2500));
+
+        List<FlightDTO> results = index.search("GOI", "BLR", BASE, END, 1, 5000, BASE, 0, 10);
+
+        assertEquals(List.of(2L, 7L, 1L), results.stream().map(FlightDTO::getId).toList());
+    }
+
+    @Test
+    void testSearch_ShouldResumeStrictlyAfterKeysetPosition() {
+        FlightSearchIndex index = new FlightSearchIndex(true, 100);
+        index.upsert(flight(1L, "GOI", "BLR", BASE.plusHours(1), 6, 3000));
+        index.upsert(flight(2L, "GOI", "BLR", BASE.plusHours(1), 6, 3000));
+        index.upsert(flight(3L, "GOI", "BLR", BASE.plusHours(2), 6, 3000));
+
+        List<FlightDTO> firstPage = index.search("GOI", "BLR", BASE, END, 1, 5000, BASE, 0, 1);
+        FlightDTO last = firstPage.get(0);
+        List<FlightDTO> rest = index.search("GOI", "BLR", BASE, END, 1, 5000, last.getDepartureTime(), last.getId(), 10);
+
+        assertEquals(1L, last.getId());
+        assertEquals(List.of(2L, 3L), rest.stream().map(FlightDTO::getId).toList());
+    }
+
+    @Test
+    void testUpdatesAndSeatChanges_ShouldBeReflectedInResults() {
+        FlightSearchIndex index = new FlightSearchIndex(true, 100);
+        index.upsert(flight(1L, "GOI", "BLR", BASE.plusHours(1), 1, 3000));
+
+        index.adjustAvailableSeats(1L, -1);
+        assertTrue(index.search("GOI", "BLR", BASE, END, 1, 5000, BASE, 0, 10).isEmpty());
+
+        index.upsert(flight(1L, "GOI", "DEL", BASE.plusHours(1), 4, 3000));
+        assertTrue(index.search("GOI", "BLR", BASE, END, 0, 5000, BASE, 0, 10).isEmpty());
+        assertEquals(4, index.search("GOI", "DEL", BASE, END, 1, 5000, BASE, 0, 10).get(0).getAvailableSeats());
+
+        index.remove(1L);
+        assertTrue(index.search("GOI", "DEL", BASE, END, 0, 5000, BASE, 0, 10).isEmpty());
+    }
+
+    @Test
+    void testUpdateMakingFlightUnsearchable_ShouldDropItsOldEntry() {
+        FlightSearchIndex index = new FlightSearchIndex(true, 1);
+        index.upsert(flight(1L, "GOI", "BLR", BASE.plusHours(1), 6, 3000));
+
+        index.upsert(flight(1L, "GOI", null, BASE.plusHours(1), 6, 3000));
+        assertTrue(index.search("GOI", "BLR", BASE, END, 0, 5000, BASE, 0, 10).isEmpty());
+
+        index.upsert(flight(2L, "GOI", "BLR", BASE.plusHours(2), 6, 3000));
+        assertEquals(List.of(2L), index.search("GOI", "BLR", BASE, END, 0, 5000, BASE, 0, 10).stream()
+                .map(FlightDTO::getId).toList());
+    }
+
+    @Test
+    void testLoad_OverMemoryCap_ShouldStayOnDatabaseSearch() {
+        FlightSearchIndex index = new FlightSearchIndex(true, 2);
+        index.upsert(flight(1L, "GOI", "BLR", BASE.plusHours(1), 6, 3000));
+        index.upsert(flight(2L, "GOI", "BLR", BASE.plusHours(2), 6, 3000));
+        index.upsert(flight(3L, "GOI", "BLR", BASE.plusHours(3), 6, 3000));
+
+        assertFalse(index.isReady());
+        assertTrue(index.search("GOI", "BLR", BASE, END, 0, 5000, BASE, 0, 10).isEmpty());
+    }
+
+    static FlightDTO flight(Long id, String departure, String destination, LocalDateTime departureTime,
+                            int seats, double price) {
+        return new FlightDTO(id, "IndexAir", departure, destination, departureTime, departureTime.plusHours(1),
+                seats, price);
+    }
+}
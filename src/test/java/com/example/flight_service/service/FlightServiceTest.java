@@ -1,18 +1,23 @@
 package com.example.flight_service.service;
 
+import com.example.flight_service.dto.SeatHoldDTO;
 import com.example.flight_service.entity.Flight;
 import com.example.flight_service.entity.FlightDetails;
 import com.example.flight_service.entity.Seat;
 import com.example.flight_service.entity.SeatStatus;
 import com.example.flight_service.repository.FlightRepository;
+import com.example.flight_service.repository.SeatRepository;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -26,6 +31,36 @@ class FlightServiceTest {
     @Mock
     private FlightRepository flightRepository;
 
+    @Mock
+    private SeatRepository seatRepository;
+
+    @Mock
+    private SeatAvailabilityIndex seatAvailabilityIndex;
+
+    @Mock
+    private BookingExecutor bookingExecutor;
+
+    @Mock
+    private FlightSearchIndex flightSearchIndex;
+
+    @Mock
+    private FlightMetrics flightMetrics;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private SeatMapSnapshots seatMapSnapshots;
+
+    @Mock
+    private FlightEventOutbox flightEventOutbox;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(bookingExecutor.execute(anyInt(), any()))
+                .thenAnswer(inv -> inv.<Supplier<?>>getArgument(1).get());
+    }
+
     @Test
     void testAddFlight_ShouldSaveAndReturnFlight() {
         Flight flight = new Flight();
@@ -61,36 +96,154 @@ class FlightServiceTest {
 
     @Test
     void testBookSeat_ShouldBookAvailableSeat() {
-        Flight flight = new Flight();
-        flight.setSeats(List.of(Seat.builder().seatNumber("1A").status(SeatStatus.AVAILABLE).build()));
-        flight.setAvailableSeats(1);
+        FlightDetails details = new FlightDetails("AirX", null, "DEL", "BOM", null, null, 4500);
 
-        when(flightRepository.findById(1)).thenReturn(Optional.of(flight));
-        when(flightRepository.save(any())).thenReturn(flight);
+        when(flightRepository.findDetailsById(1L)).thenReturn(Optional.of(details));
+        when(seatAvailabilityIndex.claimNext(1L)).thenReturn("1A");
+        when(flightRepository.transitionSeat(1L, 0, "A", "B", -1)).thenReturn(1);
 
         FlightDetails result = flightService.bookSeat(1);
 
         assertEquals("1A", result.getSeatNumber());
-        assertEquals(0, flight.getAvailableSeats());
+        assertEquals("AirX", result.getAirline());
+        verify(seatRepository).save(argThat(seat -> seat.getFlightId() == 1L && seat.getSeatNumber().equals("1A")
+                && seat.getStatus() == SeatStatus.BOOKED));
+        verify(flightMetrics).bookingSucceeded("book", 1);
+    }
+
+    @Test
+    void testBookSeat_WhenIndexIsStale_ShouldSkipTakenSeat() {
+        FlightDetails details = new FlightDetails("AirX", null, "DEL", "BOM", null, null, 4500);
+
+        when(flightRepository.findDetailsById(1L)).thenReturn(Optional.of(details));
+        when(seatAvailabilityIndex.claimNext(1L)).thenReturn("1A", "1B");
+        when(flightRepository.transitionSeat(1L, 0, "A", "B", -1)).thenReturn(0);
+        when(flightRepository.transitionSeat(1L, 1, "A", "B", -1)).thenReturn(1);
+
+        assertEquals("1B", flightService.bookSeat(1).getSeatNumber());
+        verify(seatRepository, never()).save(argThat(seat -> seat.getSeatNumber().equals("1A")));
     }
 
     @Test
     void testBookSeat_WhenNoSeatsAvailable_ShouldThrowException() {
-        Flight flight = new Flight();
-        flight.setSeats(List.of(Seat.builder().seatNumber("1A").status(SeatStatus.BOOKED).build()));
+        FlightDetails details = new FlightDetails("AirX", null, "DEL", "BOM", null, null, 4500);
 
-        when(flightRepository.findById(1)).thenReturn(Optional.of(flight));
+        when(flightRepository.findDetailsById(1L)).thenReturn(Optional.of(details));
+        when(seatAvailabilityIndex.claimNext(1L)).thenReturn(null);
 
         assertThrows(RuntimeException.class, () -> flightService.bookSeat(1));
+        verify(flightRepository, never()).transitionSeat(anyLong(), anyInt(), any(), any(), anyInt());
+        verify(flightMetrics).bookingFailed("book");
     }
 
     @Test
-    void testIsSeatAvailable_WhenAvailable_ShouldReturnTrue() {
-        Flight flight = new Flight();
-        flight.setSeats(List.of(Seat.builder().status(SeatStatus.AVAILABLE).build()));
+    void testBookSeats_ShouldBookWholeBlockWithOneSeatMapUpdate() {
+        FlightDetails details = new FlightDetails("AirX", null, "DEL", "BOM", null, null, 4500);
+
+        when(flightRepository.findDetailsById(1L)).thenReturn(Optional.of(details));
+        when(seatAvailabilityIndex.claimBlock(1L, 3)).thenReturn(List.of("2A", "2B", "2C"));
+        when(flightRepository.findSeatMapById(1L)).thenReturn(Optional.of("BBBBBBAAAAAA"));
+        when(flightRepository.replaceSeatMap(1L, "BBBBBBAAAAAA", "BBBBBBBBBAAA", -3)).thenReturn(1);
+
+        List<FlightDetails> result = flightService.bookSeats(1, 3);
+
+        assertEquals(List.of("2A", "2B", "2C"), result.stream().map(FlightDetails::getSeatNumber).toList());
+        verify(seatRepository).saveAll(argThat((List<Seat> seats) -> seats.size() == 3
+                && seats.stream().allMatch(seat -> seat.getFlightId() == 1L && seat.getStatus() == SeatStatus.BOOKED)));
+    }
+
+    @Test
+    void testBookSeats_WhenSomeSeatsTaken_ShouldFailWithoutTouchingSeatMap() {
+        FlightDetails details = new FlightDetails("AirX", null, "DEL", "BOM", null, null, 4500);
+
+        when(flightRepository.findDetailsById(1L)).thenReturn(Optional.of(details));
+        when(seatAvailabilityIndex.claimSeats(1L, List.of("2A", "2B"))).thenReturn(true);
+        when(flightRepository.findSeatMapById(1L)).thenReturn(Optional.of("AAAAAAABAAAA"));
+
+        assertThrows(RuntimeException.class, () -> flightService.bookSeats(1, List.of("2A", "2B")));
+        verify(flightRepository, never()).replaceSeatMap(anyLong(), any(), any(), anyInt());
+        verifyNoInteractions(seatRepository);
+    }
+
+    @Test
+    void testBookSeats_WithDuplicateSeats_ShouldThrowException() {
+        assertThrows(RuntimeException.class, () -> flightService.bookSeats(1, List.of("4A", "4A")));
+        verifyNoInteractions(seatAvailabilityIndex);
+    }
+
+    @Test
+    void testCancelSeat_ShouldReleaseSeatToIndex() {
+        when(flightRepository.transitionSeat(1L, 0, "B", "A", 1)).thenReturn(1);
+
+        flightService.cancelSeat(1, "1A");
+
+        verify(seatRepository).deleteSeat(1L, "1A");
+        verify(seatAvailabilityIndex).release(1L, "1A");
+    }
+
+    @Test
+    void testCancelSeat_WhenSeatNotBooked_ShouldThrowException() {
+        when(flightRepository.transitionSeat(1L, 0, "B", "A", 1)).thenReturn(0);
+        when(flightRepository.existsById(1)).thenReturn(true);
+
+        assertThrows(RuntimeException.class, () -> flightService.cancelSeat(1, "1A"));
+        verifyNoInteractions(seatRepository);
+    }
 
-        when(flightRepository.findById(1)).thenReturn(Optional.of(flight));
+    @Test
+    void testIsSeatAvailable_WhenAvailable_ShouldReturnTrue() {
+        when(seatAvailabilityIndex.availableSeats(1L)).thenReturn(1);
 
         assertTrue(flightService.isSeatAvailable(1));
     }
+
+    @Test
+    void testIsSeatAvailable_WhenSoldOut_ShouldReturnFalse() {
+        when(seatAvailabilityIndex.availableSeats(1L)).thenReturn(0);
+
+        assertFalse(flightService.isSeatAvailable(1));
+    }
+
+    @Test
+    void testHoldSeats_ShouldReserveSeatsAndScheduleExpiry() {
+        when(seatAvailabilityIndex.claimBlock(1L, 2)).thenReturn(List.of("1A", "1B"));
+        when(flightRepository.findSeatMapById(1L)).thenReturn(Optional.of("AAAAAA"));
+        when(flightRepository.replaceSeatMap(1L, "AAAAAA", "RRAAAA", -2)).thenReturn(1);
+
+        SeatHoldDTO hold = flightService.holdSeats(1, 2);
+
+        assertEquals(List.of("1A", "1B"), hold.getSeatNumbers());
+        verify(seatRepository).saveAll(argThat((List<Seat> seats) -> seats.stream().allMatch(seat ->
+                seat.getStatus() == SeatStatus.RESERVED && seat.getHoldId().equals(hold.getHoldId()))));
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof SeatHoldPlaced placed
+                && placed.holdId().equals(hold.getHoldId()) && placed.expiresAt().equals(hold.getExpiresAt())));
+    }
+
+    @Test
+    void testConfirmHold_ShouldBookHeldSeatsWithoutChangingCounter() {
+        FlightDetails details = new FlightDetails("AirX", null, "DEL", "BOM", null, null, 4500);
+        List<Seat> held = List.of(
+                Seat.builder().flightId(1L).seatNumber("1A").status(SeatStatus.RESERVED).holdId("h1").build(),
+                Seat.builder().flightId(1L).seatNumber("1B").status(SeatStatus.RESERVED).holdId("h1").build());
+
+        when(seatRepository.findByHoldIdAndStatusAndHeldUntilAfter(eq("h1"), eq(SeatStatus.RESERVED), any()))
+                .thenReturn(held);
+        when(flightRepository.findDetailsById(1L)).thenReturn(Optional.of(details));
+        when(flightRepository.findSeatMapById(1L)).thenReturn(Optional.of("RRAAAA"));
+        when(flightRepository.replaceSeatMap(1L, "RRAAAA", "BBAAAA", 0)).thenReturn(1);
+
+        List<FlightDetails> result = flightService.confirmHold("h1");
+
+        assertEquals(List.of("1A", "1B"), result.stream().map(FlightDetails::getSeatNumber).toList());
+        assertTrue(held.stream().allMatch(seat -> seat.getStatus() == SeatStatus.BOOKED && seat.getHoldId() == null));
+    }
+
+    @Test
+    void testConfirmHold_WhenHoldExpired_ShouldThrowException() {
+        when(seatRepository.findByHoldIdAndStatusAndHeldUntilAfter(eq("gone"), eq(SeatStatus.RESERVED), any()))
+                .thenReturn(List.of());
+
+        assertThrows(RuntimeException.class, () -> flightService.confirmHold("gone"));
+        verify(flightRepository, never()).replaceSeatMap(anyLong(), any(), any(), anyInt());
+    }
 }
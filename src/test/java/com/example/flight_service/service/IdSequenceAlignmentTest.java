@@ -0,0 +1,37 @@
+package com.example.flight_service.service;
+
+import com.example.flight_service.entity.Flight;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class IdSequenceAlignmentTest {
+
+    @Autowired
+    private IdSequenceAlignment idSequenceAlignment;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testAlign_ShouldMoveSequencePastRowsWrittenWithoutIt() {
+        // A row written by the old AUTO_INCREMENT column, far ahead of the sequence
+        long legacyId = jdbcTemplate.queryForObject("select next value for flights_seq", Long.class) + 10_000;
+        jdbcTemplate.update("insert into flights (id, airline, departure, destination, departure_time, available_seats, "
+                        + "price, total_seats, version) values (?, 'LegacyAir', 'DEL', 'BOM', ?, 0, 3000, 0, 0)",
+                legacyId, Timestamp.valueOf(LocalDateTime.now().plusDays(5)));
+
+        idSequenceAlignment.align("flights", "flights_seq");
+
+        long next = jdbcTemplate.queryForObject("select next value for flights_seq", Long.class);
+        assertTrue(next - Flight.ID_ALLOCATION_SIZE + 1 > legacyId);
+        jdbcTemplate.update("delete from flights where id = ?", legacyId);
+    }
+}
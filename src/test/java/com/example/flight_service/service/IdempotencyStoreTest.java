@@ -0,0 +1,146 @@
+package com.example.flight_service.service;
+
+import com.example.flight_service.entity.FlightDetails;
+import com.example.flight_service.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "flight.idempotency.persistent=true")
+class IdempotencyStoreTest {
+
+    private static final TypeReference<FlightDetails> DETAILS = new TypeReference<>() {
+    };
+
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private AutowireCapableBeanFactory beanFactory;
+
+    @Test
+    void testConcurrentDuplicates_ShouldRunTheActionOnce() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        Future<?>[] results = new Future<?>[4];
+        for (int i = 0; i < results.length; i++) {
+            results[i] = pool.submit(() -> {
+                start.await();
+                return idempotencyStore.execute("concurrent", "book:1", DETAILS, () -> {
+                    runs.incrementAndGet();
+                    sleep(100);
+                    return details("3C");
+                });
+            });
+        }
+        start.countDown();
+        for (Future<?> result : results) {
+            assertEquals("3C", ((FlightDetails) result.get(10, TimeUnit.SECONDS)).getSeatNumber());
+        }
+        pool.shutdown();
+
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void testFailedAction_ShouldNotBeRemembered() {
+        assertThrows(RuntimeException.class, () -> idempotencyStore.execute("flaky", "book:1", DETAILS, () -> {
+            throw new RuntimeException("Flight is busy, please retry!");
+        }));
+        assertFalse(idempotencyRecordRepository.existsById("anonymous:flaky"));
+
+        assertEquals("1A", idempotencyStore.execute("flaky", "book:1", DETAILS, () -> details("1A")).getSeatNumber());
+    }
+
+    @Test
+    void testStoredResponse_ShouldBeReplayedByAnotherNode() {
+        idempotencyStore.execute("shared", "book:1", DETAILS, () -> details("2B"));
+        assertTrue(idempotencyRecordRepository.existsById("anonymous:shared"));
+
+        IdempotencyStore otherNode = beanFactory.createBean(IdempotencyStore.class);
+        FlightDetails replayed = otherNode.execute("shared", "book:1", DETAILS, () -> {
+            throw new AssertionError("Booking must not run again");
+        });
+
+        assertEquals("2B", replayed.getSeatNumber());
+        assertThrows(RuntimeException.class, () -> otherNode.execute("shared", "cancel:1:2B", DETAILS, () -> null));
+    }
+
+    @Test
+    void testSameKeyOnTwoNodes_ShouldRunTheActionOnce() throws Exception {
+        IdempotencyStore otherNode = beanFactory.createBean(IdempotencyStore.class);
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        List<Future<FlightDetails>> results = new ArrayList<>();
+        for (IdempotencyStore node : List.of(idempotencyStore, otherNode)) {
+            results.add(pool.submit(() -> {
+                start.await();
+                return node.execute("two-nodes", "book:1", DETAILS, () -> {
+                    runs.incrementAndGet();
+                    sleep(200);
+                    return details("4D");
+                });
+            }));
+        }
+        start.countDown();
+        int booked = 0;
+        for (Future<FlightDetails> result : results) {
+            try {
+                assertEquals("4D", result.get(10, TimeUnit.SECONDS).getSeatNumber());
+                booked++;
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause().getMessage().contains("still in progress"));
+            }
+        }
+        pool.shutdown();
+
+        assertEquals(1, runs.get());
+        assertTrue(booked >= 1);
+        assertEquals("4D", otherNode.execute("two-nodes", "book:1", DETAILS, () -> {
+            throw new AssertionError("Booking must not run again");
+        }).getSeatNumber());
+    }
+
+    @Test
+    void testKeyClaimedByCrashedNode_ShouldNotRunAgain() {
+        idempotencyRecordRepository.claim("anonymous:crashed", "book:1", LocalDateTime.now());
+
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> idempotencyStore.execute("crashed", "book:1", DETAILS, () -> {
+                    throw new AssertionError("Booking must not run again");
+                }));
+        assertTrue(e.getMessage().contains("still in progress"));
+    }
+
+    private static FlightDetails details(String seatNumber) {
+        return new FlightDetails("AirX", seatNumber, "DEL", "BOM", null, null, 4500);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.flight_service.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JWTServiceTest {
+
+    private static final String SECRET = "TXlTdXBlclNlY3JldEtleUZvckpXVE15U3VwZXJTZWNyZXRLZXlGb3JKV1Q=";
+    private static final SecretKey KEY = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+
+    private JWTService jwtService;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JWTService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", SECRET);
+        jwtService.init();
+    }
+
+    @Test
+    void testValidToken_ShouldBeParsedOnceAndServedFromCache() {
+        String token = token("alice@example.com", 60_000);
+        UserDetails user = User.withUsername("alice@example.com").password("").roles("PASSENGER").build();
+
+        assertEquals("alice@example.com", jwtService.extractUsername(token));
+        assertEquals("PASSENGER", jwtService.extractRole(token));
+        assertTrue(jwtService.validateToken(token, user));
+
+        assertEquals(1, jwtService.tokenCacheStats().missCount());
+        assertEquals(2, jwtService.tokenCacheStats().hitCount());
+    }
+
+    @Test
+    void testVerify_ShouldReturnClaimsFromOneLookup() {
+        String token = token("erin@example.com", 60_000);
+        jwtService.verify(token);
+
+        Claims claims = jwtService.verify(token);
+
+        assertEquals("erin@example.com", claims.getSubject());
+        assertEquals("PASSENGER", claims.get("role", String.class));
+        assertEquals(1, jwtService.tokenCacheStats().missCount());
+        assertEquals(1, jwtService.tokenCacheStats().hitCount());
+        assertThrows(RuntimeException.class, () -> jwtService.verify(token("erin@example.com", -1_000)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testCache_ShouldBeKeyedByDigestNotToken() {
+        String token = token("frank@example.com", 60_000);
+        jwtService.verify(token);
+
+        Cache<String, Claims> cache = (Cache<String, Claims>) ReflectionTestUtils.getField(jwtService, "verifiedTokens");
+
+        assertEquals(1, cache.estimatedSize());
+        assertFalse(cache.asMap().containsKey(token));
+        assertTrue(cache.asMap().keySet().stream().allMatch(key -> key.length() == 44));
+    }
+
+    @Test
+    void testExpiredToken_ShouldBeRejectedAndNotCached() {
+        String token = token("bob@example.com", -1_000);
+        UserDetails user = User.withUsername("bob@example.com").password("").roles("PASSENGER").build();
+
+        assertFalse(jwtService.validateToken(token, user));
+        assertNull(jwtService.extractRole(token));
+        assertEquals(0, jwtService.tokenCacheStats().hitCount());
+    }
+
+    @Test
+    void testCachedToken_ShouldStopValidatingOnceItExpires() throws InterruptedException {
+        String token = token("carol@example.com", 1_500);
+        UserDetails user = User.withUsername("carol@example.com").password("").roles("PASSENGER").build();
+        assertTrue(jwtService.validateToken(token, user));
+
+        Thread.sleep(2_000);
+
+        assertFalse(jwtService.validateToken(token, user));
+    }
+
+    @Test
+    void testTamperedToken_ShouldBeRejected() {
+        String token = token("dave@example.com", 60_000);
+        String otherKeyToken = Jwts.builder()
+                .subject("dave@example.com")
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET.replace('T', 'Q'))))
+                .compact();
+        UserDetails user = User.withUsername("dave@example.com").password("").roles("PASSENGER").build();
+
+        assertTrue(jwtService.validateToken(token, user));
+        assertFalse(jwtService.validateToken(otherKeyToken, user));
+        assertThrows(RuntimeException.class, () -> jwtService.extractUsername(otherKeyToken));
+    }
+
+    private static String token(String username, long validForMillis) {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .subject(username)
+                .claim("role", "PASSENGER")
+                .issuedAt(new Date(now - 1_000))
+                .expiration(new Date(now + validForMillis))
+                .signWith(KEY)
+                .compact();
+    }
+}
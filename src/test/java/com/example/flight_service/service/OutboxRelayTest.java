@@ -0,0 +1,101 @@
+package com.example.flight_service.service;
+
+import com.example.flight_service.dto.FlightEventDTO;
+import com.example.flight_service.entity.Flight;
+import com.example.flight_service.entity.FlightDetails;
+import com.example.flight_service.entity.FlightEventType;
+import com.example.flight_service.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static com.example.flight_service.TestFlights.newFlight;
+import static org.junit.jupiter.api.Assertions.*;
+
+// The scheduled relay is pushed out of the way so each test decides when events are published
+@SpringBootTest(properties = {"flight.outbox.enabled=true", "flight.outbox.sink=memory",
+        "flight.outbox.batch-size=4", "flight.outbox.relay-interval-ms=3600000"})
+class OutboxRelayTest {
+
+    @Autowired
+    private FlightService flightService;
+
+    @Autowired
+    private FlightImporter flightImporter;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private FlightEventSink flightEventSink;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void testFlightLifecycle_ShouldBeRelayedInOrderAcrossBatches() throws Exception {
+        Flight flight = flightService.addFlight(newFlight(12));
+        Integer flightId = flight.getId().intValue();
+        FlightDetails single = flightService.bookSeat(flightId);
+        List<FlightDetails> party = flightService.bookSeats(flightId, 2);
+        flightService.cancelSeat(flightId, single.getSeatNumber());
+        flight.setPrice(5200);
+        flightService.updateFlight(flightId, flight);
+        flightService.deleteFlight(flightId);
+
+        outboxRelay.relay();
+
+        List<FlightEventDTO> events = eventsOf(flight.getId());
+        assertEquals(List.of(FlightEventType.FLIGHT_ADDED, FlightEventType.SEATS_CHANGED,
+                FlightEventType.SEATS_CHANGED, FlightEventType.SEATS_CHANGED, FlightEventType.FLIGHT_UPDATED,
+                FlightEventType.FLIGHT_DELETED), events.stream().map(FlightEventDTO::getType).toList());
+        JsonNode booked = objectMapper.readTree(events.get(2).getPayload());
+        assertEquals("BOOKED", booked.get("status").asText());
+        assertEquals(party.get(0).getSeatNumber(), booked.get("seatNumbers").get(0).asText());
+        JsonNode cancelled = objectMapper.readTree(events.get(3).getPayload());
+        assertEquals("AVAILABLE", cancelled.get("status").asText());
+        assertEquals(single.getSeatNumber(), cancelled.get("seatNumbers").get(0).asText());
+        assertEquals(5200, objectMapper.readTree(events.get(4).getPayload()).get("price").asDouble());
+        assertEquals(0, outboxEventRepository.count());
+    }
+
+    @Test
+    void testFailedBooking_ShouldLeaveNoEvent() {
+        Flight flight = flightService.addFlight(newFlight(1));
+        Integer flightId = flight.getId().intValue();
+        flightService.bookSeat(flightId);
+        assertThrows(RuntimeException.class, () -> flightService.bookSeat(flightId));
+
+        outboxRelay.relay();
+
+        assertEquals(List.of(FlightEventType.FLIGHT_ADDED, FlightEventType.SEATS_CHANGED),
+                eventsOf(flight.getId()).stream().map(FlightEventDTO::getType).toList());
+    }
+
+    @Test
+    void testImportedFlights_ShouldEachBeJournaledAsAdded() throws Exception {
+        List<Flight> flights = List.of(newFlight(6), newFlight(6), newFlight(6), newFlight(6), newFlight(6));
+        flightImporter.importFlights(flights.iterator());
+
+        outboxRelay.relay();
+
+        for (Flight flight : flights) {
+            List<FlightEventDTO> events = eventsOf(flight.getId());
+            assertEquals(List.of(FlightEventType.FLIGHT_ADDED), events.stream().map(FlightEventDTO::getType).toList());
+            assertEquals(flight.getId(), objectMapper.readTree(events.get(0).getPayload()).get("id").asLong());
+        }
+    }
+
+    private List<FlightEventDTO> eventsOf(Long flightId) {
+        return ((InMemoryFlightEventSink) flightEventSink).events().stream()
+                .filter(event -> event.getFlightId().equals(flightId))
+                .toList();
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.flight_service.service;
+
+import com.example.flight_service.repository.FlightRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SeatAvailabilityIndexTest {
+
+    @InjectMocks
+    private SeatAvailabilityIndex seatAvailabilityIndex;
+
+    @Mock
+    private FlightRepository flightRepository;
+
+    @Test
+    void testClaimNext_ShouldReturnSeatsInLayoutOrder() {
+        when(flightRepository.findVersionedSeatMapById(1L)).thenReturn(seatMap("2A", "1F", "1B"));
+
+        assertEquals("1B", seatAvailabilityIndex.claimNext(1L));
+        assertEquals("1F", seatAvailabilityIndex.claimNext(1L));
+        assertEquals("2A", seatAvailabilityIndex.claimNext(1L));
+        assertNull(seatAvailabilityIndex.claimNext(1L));
+        assertEquals(0, seatAvailabilityIndex.availableSeats(1L));
+        verify(flightRepository, times(1)).findVersionedSeatMapById(1L);
+    }
+
+    @Test
+    void testRelease_ShouldMakeSeatClaimableAgain() {
+        when(flightRepository.findVersionedSeatMapById(1L)).thenReturn(seatMap("12C"));
+
+        assertEquals("12C", seatAvailabilityIndex.claimNext(1L));
+        seatAvailabilityIndex.release(1L, "12C");
+        seatAvailabilityIndex.release(1L, "12C");
+
+        assertEquals(1, seatAvailabilityIndex.availableSeats(1L));
+        assertEquals("12C", seatAvailabilityIndex.claimNext(1L));
+    }
+
+    @Test
+    void testEvict_ShouldReloadFromRepository() {
+        when(flightRepository.findVersionedSeatMapById(1L)).thenReturn(seatMap("1A"));
+
+        seatAvailabilityIndex.claimNext(1L);
+        seatAvailabilityIndex.evict(1L);
+
+        assertEquals(1, seatAvailabilityIndex.availableSeats(1L));
+        verify(flightRepository, times(2)).findVersionedSeatMapById(1L);
+    }
+
+    @Test
+    void testUnknownFlight_ShouldNotBeCachedAsSoldOut() {
+        when(flightRepository.findVersionedSeatMapById(1L)).thenReturn(Optional.empty(), seatMap("1A", "1B"));
+
+        assertEquals(0, seatAvailabilityIndex.availableSeats(1L));
+        assertTrue(seatAvailabilityIndex.loadedVersions().isEmpty());
+
+        assertEquals("1A", seatAvailabilityIndex.claimNext(1L));
+    }
+
+    @Test
+    void testReload_ShouldReportOnlyChangedSeats() {
+        when(flightRepository.findVersionedSeatMapById(1L))
+                .thenReturn(seatMap(1, "1A"), seatMap(2, "1A"), seatMap(3, "1A", "1B"));
+        seatAvailabilityIndex.availableSeats(1L);
+
+        assertFalse(seatAvailabilityIndex.reload(1L));
+        assertEquals(Map.of(1L, 2L), seatAvailabilityIndex.loadedVersions());
+        assertTrue(seatAvailabilityIndex.reload(1L));
+        assertEquals(2, seatAvailabilityIndex.availableSeats(1L));
+        assertFalse(seatAvailabilityIndex.reload(2L));
+    }
+
+    @Test
+    void testClaimBlock_ShouldPreferContiguousSeatsInOneRow() {
+        // Row 1 has a gap at 1C, row 2 is fully free
+        when(flightRepository.findVersionedSeatMapById(1L))
+                .thenReturn(seatMap("1A", "1B", "1D", "1E", "2A", "2B", "2C", "2D", "2E", "2F"));
+
+        assertEquals(List.of("1A", "1B"), seatAvailabilityIndex.claimBlock(1L, 2));
+        assertEquals(List.of("2A", "2B", "2C"), seatAvailabilityIndex.claimBlock(1L, 3));
+        assertEquals(List.of("1D", "1E"), seatAvailabilityIndex.claimBlock(1L, 2));
+        assertEquals(3, seatAvailabilityIndex.availableSeats(1L));
+    }
+
+    @Test
+    void testClaimBlock_ShouldFallBackToSameRowThenAcrossRows() {
+        when(flightRepository.findVersionedSeatMapById(1L)).thenReturn(seatMap("1A", "3A", "3C", "3E", "4F"));
+
+        assertEquals(List.of("3A", "3C", "3E"), seatAvailabilityIndex.claimBlock(1L, 3));
+        assertNull(seatAvailabilityIndex.claimBlock(1L, 3));
+        assertEquals(List.of("1A", "4F"), seatAvailabilityIndex.claimBlock(1L, 2));
+    }
+
+    @Test
+    void testClaimSeats_ShouldBeAllOrNothing() {
+        when(flightRepository.findVersionedSeatMapById(1L)).thenReturn(seatMap("5A", "5B"));
+
+        assertFalse(seatAvailabilityIndex.claimSeats(1L, List.of("5A", "5C")));
+        assertEquals(2, seatAvailabilityIndex.availableSeats(1L));
+        assertTrue(seatAvailabilityIndex.claimSeats(1L, List.of("5A", "5B")));
+        assertEquals(0, seatAvailabilityIndex.availableSeats(1L));
+    }
+
+    @Test
+    void testInvalidSeatNumber_ShouldBeRejected() {
+        assertThrows(RuntimeException.class, () -> SeatAvailabilityIndex.toPosition("0A"));
+        assertThrows(RuntimeException.class, () -> SeatAvailabilityIndex.toPosition("3G"));
+        assertThrows(RuntimeException.class, () -> SeatAvailabilityIndex.toPosition("A"));
+    }
+
+    // A 96-seat map where only the listed seats are available
+    private static Optional<FlightRepository.VersionedSeatMap> seatMap(String... available) {
+        return seatMap(1, available);
+    }
+
+    private static Optional<FlightRepository.VersionedSeatMap> seatMap(long version, String... available) {
+        char[] seats = new char[96];
+        Arrays.fill(seats, 'B');
+        for (String seatNumber : available) {
+            seats[SeatAvailabilityIndex.toPosition(seatNumber)] = 'A';
+        }
+        String seatMap = new String(seats);
+        return Optional.of(new FlightRepository.VersionedSeatMap() {
+            @Override
+            public long getVersion() {
+                return version;
+            }
+
+            @Override
+            public String getSeatMap() {
+                return seatMap;
+            }
+        });
+    }
+}
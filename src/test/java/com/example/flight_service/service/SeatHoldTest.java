@@ -0,0 +1,127 @@
+package com.example.flight_service.service;
+
+import com.example.flight_service.dto.SeatHoldDTO;
+import com.example.flight_service.entity.Flight;
+import com.example.flight_service.entity.FlightDetails;
+import com.example.flight_service.entity.SeatStatus;
+import com.example.flight_service.repository.FlightRepository;
+import com.example.flight_service.repository.SeatRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.example.flight_service.TestFlights.newFlight;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {"flight.booking.hold-ttl=2s", "flight.booking.hold-sweep-ms=100"})
+class SeatHoldTest {
+
+    @Autowired
+    private FlightService flightService;
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private SeatHoldExpiry seatHoldExpiry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testHoldThenConfirm_ShouldBookTheHeldSeats() {
+        Flight flight = flightService.addFlight(newFlight(6));
+        Integer flightId = flight.getId().intValue();
+
+        SeatHoldDTO hold = flightService.holdSeats(flightId, 2);
+        Flight held = flightRepository.findById(flightId).orElseThrow();
+        assertEquals("RRAAAA", held.getSeatMap());
+        assertEquals(4, held.getAvailableSeats());
+
+        List<FlightDetails> booked = flightService.confirmHold(hold.getHoldId());
+
+        assertEquals(hold.getSeatNumbers(), booked.stream().map(FlightDetails::getSeatNumber).toList());
+        Flight reloaded = flightRepository.findById(flightId).orElseThrow();
+        assertEquals("BBAAAA", reloaded.getSeatMap());
+        assertEquals(4, reloaded.getAvailableSeats());
+        assertEquals(List.of("1A", "1B"), seatRepository.findSeatNumbersByFlightIdAndStatus(flight.getId(),
+                SeatStatus.BOOKED).stream().sorted().toList());
+        assertThrows(RuntimeException.class, () -> flightService.releaseHold(hold.getHoldId()));
+    }
+
+    @Test
+    void testReleaseHold_ShouldReturnSeatsToThePool() {
+        Flight flight = flightService.addFlight(newFlight(6));
+        Integer flightId = flight.getId().intValue();
+
+        SeatHoldDTO hold = flightService.holdSeats(flightId, 3);
+        flightService.releaseHold(hold.getHoldId());
+
+        assertFreed(flight.getId(), 6);
+        assertEquals("1A", flightService.bookSeat(flightId).getSeatNumber());
+    }
+
+    @Test
+    void testExpiredHold_ShouldBeReleasedByTheSweeper() throws InterruptedException {
+        Flight flight = flightService.addFlight(newFlight(6));
+        Integer flightId = flight.getId().intValue();
+
+        SeatHoldDTO hold = flightService.holdSeats(flightId, 6);
+        assertThrows(RuntimeException.class, () -> flightService.bookSeat(flightId));
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (flightRepository.findById(flightId).orElseThrow().getAvailableSeats() < 6
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+
+        assertFreed(flight.getId(), 6);
+        assertThrows(RuntimeException.class, () -> flightService.confirmHold(hold.getHoldId()));
+        assertEquals("1A", flightService.bookSeat(flightId).getSeatNumber());
+    }
+
+    @Test
+    void testLapsedHold_ShouldNotBeConfirmableBeforeTheSweep() {
+        Flight flight = flightService.addFlight(newFlight(6));
+        Integer flightId = flight.getId().intValue();
+        SeatHoldDTO hold = flightService.holdSeats(flightId, 2);
+
+        lapse(hold); // Still queued until its original expiry, so no sweep has released it
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> flightService.confirmHold(hold.getHoldId()));
+        assertEquals("Hold not found or expired!", e.getMessage());
+        assertEquals("RRAAAA", flightRepository.findById(flightId).orElseThrow().getSeatMap());
+    }
+
+    @Test
+    void testOrphanedHold_ShouldBeReleasedByTheBackstopSweep() {
+        Flight flight = flightService.addFlight(newFlight(6));
+        Integer flightId = flight.getId().intValue();
+        lapse(flightService.holdSeats(flightId, 3));
+
+        seatHoldExpiry.releaseOrphaned();
+
+        assertFreed(flight.getId(), 6);
+    }
+
+    // As if the hold lapsed on a node that is gone
+    private void lapse(SeatHoldDTO hold) {
+        jdbcTemplate.update("update seats set held_until = ? where hold_id = ?",
+                Timestamp.valueOf(LocalDateTime.now().minusSeconds(1)), hold.getHoldId());
+    }
+
+    private void assertFreed(Long flightId, int totalSeats) {
+        Flight reloaded = flightRepository.findById(flightId.intValue()).orElseThrow();
+        assertEquals(Flight.emptySeatMap(totalSeats), reloaded.getSeatMap());
+        assertEquals(totalSeats, reloaded.getAvailableSeats());
+        assertTrue(seatRepository.findSeatNumbersByFlightIdAndStatus(flightId, SeatStatus.RESERVED).isEmpty());
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.flight_service.service;
+
+import com.example.flight_service.entity.Flight;
+import com.example.flight_service.entity.SeatStatus;
+import com.example.flight_service.repository.FlightRepository;
+import com.example.flight_service.repository.SeatRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class SeatMapBackfillTest {
+
+    @Autowired
+    private SeatMapBackfill seatMapBackfill;
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private SeatAvailabilityIndex seatAvailabilityIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testBackfill_ShouldPackLegacySeatRowsAndKeepOnlyBookedOnes() {
+        Long flightId = insertLegacyFlight(8, List.of("1B", "2A"));
+
+        seatMapBackfill.backfill();
+
+        Flight flight = flightRepository.findById(flightId.intValue()).orElseThrow();
+        assertEquals("ABAAAABA", flight.getSeatMap());
+        assertEquals(List.of("1B", "2A"),
+                seatRepository.findSeatNumbersByFlightIdAndStatus(flightId, SeatStatus.BOOKED).stream().sorted().toList());
+        assertTrue(seatRepository.findSeatNumbersByFlightIdAndStatus(flightId, SeatStatus.AVAILABLE).isEmpty());
+    }
+
+    @Test
+    void testBackfill_ShouldRecountSeatsAndDropStaleAvailability() {
+        Long flightId = insertLegacyFlight(6, List.of("1A"));
+        jdbcTemplate.update("update flights set available_seats = 2 where id = ?", flightId);
+        assertEquals(0, seatAvailabilityIndex.availableSeats(flightId)); // Cached while there was no seat map
+
+        seatMapBackfill.backfill();
+
+        assertEquals(5, flightRepository.findById(flightId.intValue()).orElseThrow().getAvailableSeats());
+        assertEquals(5, seatAvailabilityIndex.availableSeats(flightId));
+    }
+
+    // A flight as stored before seat maps: no seat_map, one seats row per seat
+    private Long insertLegacyFlight(int totalSeats, List<String> booked) {
+        Long flightId = jdbcTemplate.queryForObject("select next value for flights_seq", Long.class);
+        jdbcTemplate.update("insert into flights (id, airline, departure, destination, departure_time, available_seats, "
+                        + "price, total_seats, version) values (?, 'LegacyAir', 'DEL', 'BOM', ?, ?, 3000, ?, 0)",
+                flightId, Timestamp.valueOf(LocalDateTime.now().plusDays(5)), totalSeats - booked.size(), totalSeats);
+        for (int position = 0; position < totalSeats; position++) {
+            String seatNumber = SeatAvailabilityIndex.toSeatNumber(position);
+            SeatStatus status = booked.contains(seatNumber) ? SeatStatus.BOOKED : SeatStatus.AVAILABLE;
+            jdbcTemplate.update("insert into seats (id, seat_number, status, version, flight_id) "
+                            + "values (next value for seats_seq, ?, ?, 0, ?)",
+                    seatNumber, status.name(), flightId);
+        }
+        return flightId;
+    }
+}